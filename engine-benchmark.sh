@@ -0,0 +1,91 @@
+#!/bin/sh
+# engine-benchmark.sh - compare ingestion throughput of the listener and reactive engines
+#
+# Requires the compose stack (docker compose up -d postgres zookeeper kafka), jq and a JDK 17+.
+# Usage: ./engine-benchmark.sh [events] [runs]   (SKIP_BUILD=1 reuses the existing boot jar)
+#
+# The input topic is loaded once with copies of example_input_event.json, each with its own
+# message_id, item ids and increasing context.timestamp. Every run truncates the tables and
+# consumes the whole topic with a fresh consumer group; the time from application start-up
+# until the group has committed the log end offset of every partition is reported.
+#
+# Engines:
+#   blocking      @KafkaListener + JPA/JDBC (default profile)
+#   reactive      reactor-kafka + R2DBC (profile "reactive")
+
+set -e
+
+events=${1:-20000}
+runs=${2:-3}
+jar=build/libs/catalog-publish-1.0.0-SNAPSHOT.jar
+bootstrap=${BOOTSTRAP_SERVERS:-localhost:29092}
+topic=events.input
+log=$(mktemp)
+trap 'rm -f "$log"' EXIT
+
+if [ -z "$SKIP_BUILD" ]; then
+  ./gradlew -q bootJar
+fi
+
+kafka() {
+  docker compose exec -T kafka "$@"
+}
+
+psql() {
+  docker compose exec -T postgres psql -q -U catalog_user -d catalog_db "$@"
+}
+
+echo "Loading $events events into $topic"
+jq -c --argjson n "$events" '
+  . as $event | range($n) as $i | $event
+  | .context.message_id = "engine-benchmark-\($i)"
+  | .context.timestamp = ((now | floor) + $i | todate)
+  | .message.catalog.providers[].items[].id |= "\(.)-\($i)"' example_input_event.json \
+  | kafka kafka-console-producer.sh --bootstrap-server localhost:9092 --topic "$topic" \
+      --producer-property linger.ms=20 > /dev/null
+
+# Committed lag of a group summed over partitions; empty while any partition has no commit yet
+group_lag() {
+  kafka kafka-consumer-groups.sh --bootstrap-server localhost:9092 --describe --group "$1" 2>/dev/null \
+    | awk -v topic="$topic" '$2 == topic { if ($6 !~ /^[0-9]+$/) { pending = 1 } else { lag += $6; seen = 1 } }
+                             END { if (seen && !pending) print lag }'
+}
+
+# Seconds from start-up until the group has consumed the whole topic
+measure() {
+  group=engine-benchmark-$1-$(date +%s%N)
+  shift
+  psql -c 'TRUNCATE catalog_items, processed_messages'
+  start=$(date +%s.%N)
+  java -jar "$jar" "$@" --spring.kafka.bootstrap-servers="$bootstrap" \
+    --spring.kafka.consumer.group-id="$group" --logging.level.org.beckn.catalog=WARN > "$log" 2>&1 &
+  pid=$!
+  until [ "$(group_lag "$group")" = "0" ]; do
+    if ! kill -0 $pid 2>/dev/null; then
+      echo "engine failed:" >&2
+      tail -20 "$log" >&2
+      exit 1
+    fi
+    sleep 0.5
+  done
+  end=$(date +%s.%N)
+  kill $pid
+  wait $pid 2>/dev/null || true
+  echo "$end - $start" | bc
+}
+
+run_engine() {
+  name=$1
+  shift
+  total=0
+  for i in $(seq "$runs"); do
+    t=$(measure "$name" "$@")
+    total=$(echo "$total + $t" | bc)
+  done
+  mean=$(echo "scale=3; $total / $runs" | bc)
+  printf '%-10s %8.2fs %10.0f events/s (mean of %s runs)\n' "$name" "$mean" \
+    "$(echo "scale=3; $events / $mean" | bc)" "$runs"
+}
+
+run_engine blocking
+run_engine reactive --spring.profiles.active=reactive
@@ -0,0 +1,122 @@
+package org.beckn.catalog.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory model of the radius search over a million provider locations spread across India:
+ * the geohash prefix cover with haversine refinement against computing the distance to every
+ * location. A sorted geohash array stands in for the btree index, so the score is the cost of
+ * the algorithm alone; {@link GeoRadiusQueryBenchmark} measures the actual Postgres queries.
+ *
+ * Run with {@code ./gradlew jmh -Pjmh.includes=GeoRadiusBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoRadiusBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000000"})
+    public int locations;
+
+    @Param({"500", "5000", "50000"})
+    public double radiusMeters;
+
+    private String[] geohashes;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        double[][] points = new double[locations][];
+        for (int i = 0; i < locations; i++) {
+            points[i] = new double[] {8 + random.nextDouble() * 27, 69 + random.nextDouble() * 27};
+        }
+        String[] hashes = new String[locations];
+        Integer[] order = new Integer[locations];
+        for (int i = 0; i < locations; i++) {
+            hashes[i] = GeoHash.encode(points[i][0], points[i][1], GeoHash.STORED_PRECISION);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> hashes[i]));
+
+        geohashes = new String[locations];
+        latitudes = new double[locations];
+        longitudes = new double[locations];
+        for (int i = 0; i < locations; i++) {
+            geohashes[i] = hashes[order[i]];
+            latitudes[i] = points[order[i]][0];
+            longitudes[i] = points[order[i]][1];
+        }
+
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[] {8 + random.nextDouble() * 27, 69 + random.nextDouble() * 27};
+        }
+    }
+
+    @Benchmark
+    public int prefixCover() {
+        double[] query = nextQuery();
+        int found = 0;
+        List<String> cells = GeoHash.cover(query[0], query[1], radiusMeters);
+        for (String cell : cells) {
+            int from = lowerBound(cell);
+            int to = lowerBound(cell + GeoHash.RANGE_END);
+            for (int i = from; i < to; i++) {
+                if (GeoHash.distanceMeters(query[0], query[1], latitudes[i], longitudes[i]) <= radiusMeters) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int fullScan() {
+        double[] query = nextQuery();
+        int found = 0;
+        for (int i = 0; i < locations; i++) {
+            if (GeoHash.distanceMeters(query[0], query[1], latitudes[i], longitudes[i]) <= radiusMeters) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = geohashes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (geohashes[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,113 @@
+package org.beckn.catalog.geo;
+
+import org.beckn.catalog.repository.ProviderLocationJdbcRepository;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius search against PostgreSQL with the migrated schema and a million provider locations
+ * spread across India: {@link ProviderLocationJdbcRepository#findLocationsWithin} (geohash range
+ * scans of the covering index plus haversine refinement) against a haversine filter over the
+ * whole table. A postgres:15 container is started for the run, so Docker is required.
+ *
+ * Run with {@code ./gradlew jmh -Pjmh.includes=GeoRadiusQueryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoRadiusQueryBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int INSERT_BATCH = 10_000;
+
+    private static final String FULL_SCAN_SQL =
+            "SELECT count(*) FROM provider_locations " +
+            "WHERE 2 * 6371008.8 * asin(least(1, sqrt(" +
+            "power(sin(radians(latitude - ?) / 2), 2) + " +
+            "cos(radians(?)) * cos(radians(latitude)) * power(sin(radians(longitude - ?) / 2), 2)))) <= ?";
+
+    @Param({"1000000"})
+    public int locations;
+
+    @Param({"500", "5000", "50000"})
+    public double radiusMeters;
+
+    private PostgreSQLContainer<?> postgres;
+    private JdbcTemplate jdbcTemplate;
+    private ProviderLocationJdbcRepository repository;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        repository = new ProviderLocationJdbcRepository(jdbcTemplate);
+
+        Random random = new Random(7);
+        List<ProviderLocation> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < locations; i++) {
+            double latitude = 8 + random.nextDouble() * 27;
+            double longitude = 69 + random.nextDouble() * 27;
+            batch.add(ProviderLocation.of("provider" + (i / 10), "location" + i, latitude + "," + longitude));
+            if (batch.size() == INSERT_BATCH) {
+                repository.upsertAll(batch);
+                batch.clear();
+            }
+        }
+        repository.upsertAll(batch);
+        // Visibility map and statistics, so the planner can use index-only scans
+        jdbcTemplate.execute("VACUUM ANALYZE provider_locations");
+
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[] {8 + random.nextDouble() * 27, 69 + random.nextDouble() * 27};
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int geohashCover() {
+        double[] query = nextQuery();
+        return repository.findLocationsWithin(query[0], query[1], radiusMeters).size();
+    }
+
+    @Benchmark
+    public int fullScan() {
+        double[] query = nextQuery();
+        Integer found = jdbcTemplate.queryForObject(FULL_SCAN_SQL, Integer.class,
+                query[0], query[0], query[1], radiusMeters);
+        return found != null ? found : 0;
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+}
@@ -0,0 +1,105 @@
+package org.beckn.catalog.messaging.producer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.beckn.catalog.entity.CatalogItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item event serialization: the former HashMap + UUID.randomUUID() + writeValueAsString path
+ * against {@link ItemEventWriter}. Scores are items per second; the gc profiler configured in
+ * build.gradle reports allocated bytes per item ({@code gc.alloc.rate.norm}). Runs on 4 threads
+ * since publishing happens on the listener and scheduler threads concurrently.
+ *
+ * Run with {@code ./gradlew jmh -Pjmh.includes=ItemEventSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ItemEventSerializationBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemEventWriter itemEventWriter;
+    private List<CatalogItem> items;
+
+    @Setup
+    public void setUp() {
+        itemEventWriter = new ItemEventWriter(objectMapper);
+        items = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            CatalogItem item = new CatalogItem();
+            item.setItemId("item-" + i);
+            item.setProviderId("provider-" + (i % 10));
+            item.setRawItemData("{\"id\":\"item-" + i + "\",\"descriptor\":{\"name\":\"Item " + i
+                    + "\",\"long_desc\":\"Benchmark item with a reasonably long description\"},"
+                    + "\"price\":{\"currency\":\"INR\",\"value\":\"" + (i % 1000) + ".99\"},"
+                    + "\"category_ids\":[\"smartphones\"],\"location_id\":\"loc-1\"}");
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void mapBased(Blackhole blackhole) throws Exception {
+        for (CatalogItem item : items) {
+            blackhole.consume(objectMapper.writeValueAsString(mapEvent(item)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void streaming(Blackhole blackhole) {
+        String eventTimestamp = OffsetDateTime.now().toString();
+        for (CatalogItem item : items) {
+            blackhole.consume(itemEventWriter.write(item, eventTimestamp));
+        }
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return UuidV7.next();
+    }
+
+    /**
+     * The event as previously built by CatalogEventProducer
+     */
+    private static Map<String, Object> mapEvent(CatalogItem item) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event_type", "catalog_item_stored");
+        event.put("event_id", UUID.randomUUID().toString());
+        event.put("timestamp", OffsetDateTime.now().toString());
+        event.put("source", "catalog-publish");
+        event.put("version", "2.0");
+        event.put("item_id", item.getItemId());
+        event.put("provider_id", item.getProviderId());
+        event.put("created_at", item.getCreatedAt().toString());
+        event.put("updated_at", item.getUpdatedAt().toString());
+        event.put("item_data", new RawValue(item.getRawItemData()));
+        return event;
+    }
+}
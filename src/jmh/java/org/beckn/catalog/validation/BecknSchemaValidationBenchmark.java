@@ -0,0 +1,102 @@
+package org.beckn.catalog.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse + schema validation cost of a Beckn catalog event, compared with parsing alone.
+ *
+ * Run with {@code ./gradlew jmh -Pjmh.includes=BecknSchemaValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BecknSchemaValidationBenchmark {
+
+    @Param({"100", "10000"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String eventJson;
+    private BecknSchemaValidator failFastValidator;
+    private BecknSchemaValidator collectAllValidator;
+
+    @Setup
+    public void setUp() throws Exception {
+        eventJson = objectMapper.writeValueAsString(catalogEvent(itemCount));
+        failFastValidator = new BecknSchemaValidator("classpath*:schemas/beckn/**/catalog.json", "fail-fast");
+        failFastValidator.compile();
+        collectAllValidator = new BecknSchemaValidator("classpath*:schemas/beckn/**/catalog.json", "collect-all");
+        collectAllValidator.compile();
+    }
+
+    @Benchmark
+    public JsonNode parseOnly() throws Exception {
+        return objectMapper.readTree(eventJson);
+    }
+
+    @Benchmark
+    public List<String> parseAndValidateFailFast() throws Exception {
+        return failFastValidator.validate(objectMapper.readTree(eventJson));
+    }
+
+    @Benchmark
+    public List<String> parseAndValidateCollectAll() throws Exception {
+        return collectAllValidator.validate(objectMapper.readTree(eventJson));
+    }
+
+    private ObjectNode catalogEvent(int items) {
+        ObjectNode event = objectMapper.createObjectNode();
+        ObjectNode context = event.putObject("context");
+        context.put("domain", "retail:1.1.0");
+        context.put("action", "on_search");
+        context.put("version", "1.1.0");
+        context.put("bpp_id", "bpp.example.com");
+        context.put("bpp_uri", "https://bpp.example.com");
+        context.put("message_id", "550e8400-e29b-41d4-a716-446655440000");
+        context.put("timestamp", "2025-01-27T10:30:00.000Z");
+
+        ObjectNode provider = event.putObject("message").putObject("catalog").putArray("providers").addObject();
+        provider.put("id", "benchmark-provider");
+        provider.putObject("descriptor").put("name", "Benchmark Provider");
+        ObjectNode location = provider.putArray("locations").addObject();
+        location.put("id", "loc-1");
+        location.put("gps", "40.7589,-73.9851");
+
+        ArrayNode itemsNode = provider.putArray("items");
+        for (int i = 0; i < items; i++) {
+            ObjectNode item = itemsNode.addObject();
+            item.put("id", "item-" + i);
+            item.putArray("category_ids").add("smartphones");
+            item.put("location_id", "loc-1");
+            ObjectNode descriptor = item.putObject("descriptor");
+            descriptor.put("name", "Item " + i);
+            descriptor.put("long_desc", "Benchmark item number " + i + " with a reasonably long description");
+            ObjectNode image = descriptor.putArray("images").addObject();
+            image.put("url", "https://images.example.com/" + i + ".jpg");
+            image.put("size_type", "lg");
+            ObjectNode price = item.putObject("price");
+            price.put("currency", "USD");
+            price.put("value", (i % 1000) + ".99");
+            ObjectNode tagGroup = item.putArray("tags").addObject();
+            tagGroup.putObject("descriptor").put("code", "features");
+            ObjectNode tag = tagGroup.putArray("list").addObject();
+            tag.putObject("descriptor").put("code", "5g");
+            tag.put("value", i % 2 == 0 ? "Y" : "N");
+        }
+        return event;
+    }
+}
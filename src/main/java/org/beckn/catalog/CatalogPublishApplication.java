@@ -3,8 +3,10 @@ package org.beckn.catalog;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableKafka
+@EnableScheduling
 @SpringBootApplication
 public class CatalogPublishApplication {
     public static void main(String[] args) {
@@ -0,0 +1,60 @@
+package org.beckn.catalog.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch: a fixed {@code depth x width} counter matrix that over-estimates the total
+ * weight added for a key by at most {@code e / width} of all weight added, with probability
+ * {@code 1 - e^-depth}. Not thread-safe.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+
+    CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    void add(long[] hashes, long weight) {
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(hashes, row)] += weight;
+        }
+    }
+
+    long estimate(long[] hashes) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + column(hashes, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Independent copy, e.g. to query outside the lock guarding this sketch
+     */
+    CountMinSketch copy() {
+        CountMinSketch copy = new CountMinSketch(depth, width);
+        System.arraycopy(counters, 0, copy.counters, 0, counters.length);
+        return copy;
+    }
+
+    void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    long sizeInBytes() {
+        return (long) counters.length * Long.BYTES;
+    }
+
+    /**
+     * Kirsch-Mitzenmacher double hashing: column_i = h1 + i * h2
+     */
+    private int column(long[] hashes, int row) {
+        long combined = hashes[0] + row * hashes[1];
+        return (int) ((combined & Long.MAX_VALUE) % width);
+    }
+}
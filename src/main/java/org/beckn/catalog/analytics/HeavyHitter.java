@@ -0,0 +1,11 @@
+package org.beckn.catalog.analytics;
+
+/**
+ * A key among the heaviest of a window
+ *
+ * @param key Tracked key, e.g. a provider ID
+ * @param estimate Upper bound of the key's weight in the window
+ * @param guaranteed Lower bound of the key's weight in the window
+ */
+public record HeavyHitter(String key, long estimate, long guaranteed) {
+}
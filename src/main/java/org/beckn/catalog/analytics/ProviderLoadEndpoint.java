@@ -0,0 +1,86 @@
+package org.beckn.catalog.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/providers}: the heaviest providers by events, items, bytes
+ * and processing time over a sliding window, e.g. {@code ?window=PT15M&limit=20}, and the load
+ * of a single provider at {@code /actuator/providers/{providerId}}. Values are estimates with
+ * one-sided error; {@code guaranteed} is a lower bound.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.analytics.providers.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "providers")
+public class ProviderLoadEndpoint {
+
+    private final ProviderLoadTracker tracker;
+
+    @ReadOperation
+    public Map<String, Object> topProviders(@Nullable Duration window, @Nullable Integer limit) {
+        Duration span = window(window);
+        int top = limit != null && limit > 0 ? limit : tracker.properties().topK();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("window", span.toString());
+        for (ProviderLoadTracker.Dimension dimension : ProviderLoadTracker.Dimension.values()) {
+            WindowedHeavyHitters hitters = tracker.hitters(dimension);
+            long total = hitters.total(span);
+            List<Map<String, Object>> providers = new ArrayList<>();
+            for (HeavyHitter hitter : hitters.top(top, span)) {
+                Map<String, Object> provider = new LinkedHashMap<>();
+                provider.put("providerId", hitter.key());
+                provider.put("estimate", hitter.estimate());
+                provider.put("guaranteed", hitter.guaranteed());
+                provider.put("share", total > 0 ? (double) hitter.estimate() / total : 0.0);
+                providers.add(provider);
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("total", total);
+            summary.put("top", providers);
+            response.put(name(dimension), summary);
+        }
+        return response;
+    }
+
+    @ReadOperation
+    public Map<String, Object> provider(@Selector String providerId, @Nullable Duration window) {
+        Duration span = window(window);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("providerId", providerId);
+        response.put("window", span.toString());
+        for (ProviderLoadTracker.Dimension dimension : ProviderLoadTracker.Dimension.values()) {
+            response.put(name(dimension), tracker.hitters(dimension).estimate(providerId, span));
+        }
+        return response;
+    }
+
+    private Duration window(Duration requested) {
+        Duration window = requested != null ? requested : tracker.properties().defaultWindow();
+        Duration history = tracker.hitters(ProviderLoadTracker.Dimension.EVENTS).history();
+        return window.compareTo(history) > 0 ? history : window;
+    }
+
+    /**
+     * events, items, bytes, processingTimeMicros
+     */
+    private static String name(ProviderLoadTracker.Dimension dimension) {
+        return switch (dimension) {
+            case PROCESSING_TIME -> "processingTimeMicros";
+            default -> dimension.name().toLowerCase(Locale.ROOT);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package org.beckn.catalog.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Provider load analytics ({@code catalog.analytics.providers})
+ *
+ * @param enabled Track provider load
+ * @param bucket Granularity of the sliding windows
+ * @param buckets Buckets retained; bounds the longest window and, with the sketch size, memory
+ * @param sketchDepth Count-min rows per bucket and dimension
+ * @param sketchWidth Count-min columns per bucket and dimension
+ * @param capacity Space-saving counters per bucket and dimension; keep well above topK
+ * @param topK Providers listed per dimension by default
+ * @param defaultWindow Window used when a query does not name one
+ */
+@ConfigurationProperties(prefix = "catalog.analytics.providers")
+public record ProviderLoadProperties(boolean enabled, Duration bucket, int buckets, int sketchDepth,
+                                     int sketchWidth, int capacity, int topK, Duration defaultWindow) {
+
+    public ProviderLoadProperties {
+        bucket = bucket != null ? bucket : Duration.ofMinutes(1);
+        buckets = buckets > 0 ? buckets : 60;
+        sketchDepth = sketchDepth > 0 ? sketchDepth : 4;
+        sketchWidth = sketchWidth > 0 ? sketchWidth : 512;
+        capacity = capacity > 0 ? capacity : 64;
+        topK = topK > 0 ? topK : 10;
+        defaultWindow = defaultWindow != null ? defaultWindow : Duration.ofMinutes(5);
+    }
+}
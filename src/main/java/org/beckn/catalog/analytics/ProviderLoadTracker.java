@@ -0,0 +1,100 @@
+package org.beckn.catalog.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.entity.CatalogItem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process heavy hitter tracking of the load each provider puts on the pipeline, in fixed
+ * memory regardless of the number of providers. Exposed by {@link ProviderLoadEndpoint}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ProviderLoadProperties.class)
+@ConditionalOnProperty(name = "catalog.analytics.providers.enabled", havingValue = "true", matchIfMissing = true)
+public class ProviderLoadTracker {
+
+    /**
+     * Load dimensions tracked per provider
+     */
+    public enum Dimension {
+        /** Catalog events carrying the provider */
+        EVENTS,
+        /** Items of the provider */
+        ITEMS,
+        /** Characters of item JSON (bytes for ASCII payloads) */
+        BYTES,
+        /** Time spent storing the provider's items, in microseconds */
+        PROCESSING_TIME
+    }
+
+    private final ProviderLoadProperties properties;
+    private final Map<Dimension, WindowedHeavyHitters> hitters = new EnumMap<>(Dimension.class);
+
+    public ProviderLoadTracker(ProviderLoadProperties properties) {
+        this.properties = properties;
+        for (Dimension dimension : Dimension.values()) {
+            hitters.put(dimension, new WindowedHeavyHitters(properties.buckets(), properties.bucket(),
+                    properties.sketchDepth(), properties.sketchWidth(), properties.capacity()));
+        }
+        log.info("Provider load analytics: {} buckets of {}, {} KB",
+                properties.buckets(), properties.bucket(), sizeInBytes() / 1024);
+    }
+
+    /**
+     * Record one catalog event's items of a provider
+     *
+     * @param providerId Beckn provider ID
+     * @param items The provider's items in the event
+     * @param eventLength Length of the whole event JSON
+     * @param eventItems Number of items of all providers in the event
+     */
+    public void recordEvent(String providerId, List<CatalogItem> items, long eventLength, int eventItems) {
+        hitters.get(Dimension.EVENTS).add(providerId, 1);
+        hitters.get(Dimension.ITEMS).add(providerId, items.size());
+        hitters.get(Dimension.BYTES).add(providerId, payloadLength(items, eventLength, eventItems));
+    }
+
+    /**
+     * Record the store time of a provider's items: their upsert plus their location links and
+     * tags, without publishing item events. It may be recorded per chunk or per provider; the
+     * window total is the same either way.
+     */
+    public void recordProcessingTime(String providerId, long nanos) {
+        hitters.get(Dimension.PROCESSING_TIME).add(providerId, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public WindowedHeavyHitters hitters(Dimension dimension) {
+        return hitters.get(dimension);
+    }
+
+    public ProviderLoadProperties properties() {
+        return properties;
+    }
+
+    public long sizeInBytes() {
+        return hitters.values().stream().mapToLong(WindowedHeavyHitters::sizeInBytes).sum();
+    }
+
+    /**
+     * Item JSON length of the provider: exact for raw items, otherwise the event's length
+     * shared in proportion to the provider's item count
+     */
+    private static long payloadLength(List<CatalogItem> items, long eventLength, int eventItems) {
+        long length = 0;
+        for (CatalogItem item : items) {
+            if (item.getRawItemData() == null) {
+                return eventItems > 0 ? eventLength * items.size() / eventItems : eventLength;
+            }
+            length += item.getRawItemData().length();
+        }
+        return length;
+    }
+}
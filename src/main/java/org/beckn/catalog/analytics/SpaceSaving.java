@@ -0,0 +1,151 @@
+package org.beckn.catalog.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighted space-saving summary (Metwally et al.) with a fixed number of counters. A key not
+ * being tracked takes over the smallest counter and inherits its count as error, so every key
+ * heavier than {@code total / capacity} is guaranteed to be tracked. The counters form an indexed
+ * min-heap on their count, so an add is O(log capacity). Not thread-safe.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    void add(String key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter(key, weight, 0);
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        if (capacity == 0) {
+            return;
+        }
+
+        Counter min = heap[0];
+        counters.remove(min.key);
+        min.key = key;
+        min.error = min.count;
+        min.count += weight;
+        counters.put(key, min);
+        siftDown(0);
+    }
+
+    /**
+     * Upper bound of the key's weight, or -1 when it is not tracked
+     */
+    long count(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.count : -1;
+    }
+
+    /**
+     * Lower bound of the key's weight; 0 when it is not tracked
+     */
+    long guaranteed(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.count - counter.error : 0;
+    }
+
+    Set<String> keys() {
+        return counters.keySet();
+    }
+
+    void clear() {
+        counters.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Independent copy, e.g. to merge outside the lock guarding this summary
+     */
+    SpaceSaving copy() {
+        SpaceSaving copy = new SpaceSaving(capacity);
+        for (int i = 0; i < size; i++) {
+            Counter counter = new Counter(heap[i].key, heap[i].count, heap[i].error);
+            counter.index = i;
+            copy.heap[i] = counter;
+            copy.counters.put(counter.key, counter);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    long sizeInBytes() {
+        // Heap slot, counter object and map entry per slot; key strings are shared with callers
+        return capacity * 104L;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= heap[index].count) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = 2 * index + 1;
+            if (smallest >= size) {
+                return;
+            }
+            int right = smallest + 1;
+            if (right < size && heap[right].count < heap[smallest].count) {
+                smallest = right;
+            }
+            if (heap[index].count <= heap[smallest].count) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Counter counter = heap[i];
+        heap[i] = heap[j];
+        heap[j] = counter;
+        heap[i].index = i;
+        heap[j].index = j;
+    }
+
+    private static final class Counter {
+
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.beckn.catalog.analytics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory heavy hitters over sliding time windows.
+ *
+ * Time is split into buckets held in a ring; a bucket is cleared and reused once it falls out
+ * of the retained history, so memory never grows. Every bucket has a count-min sketch, which
+ * bounds the weight of any key, and a space-saving summary, which names the candidates for the
+ * heaviest keys. A window query merges the buckets it spans: each candidate's weight is bounded
+ * above by the sketch (or the summary, when tighter) and below by the summary's guaranteed count.
+ * Windows are whole buckets, the newest of which is still filling.
+ *
+ * Each bucket has its own lock: an add locks only the current bucket for one sketch update and
+ * one O(log capacity) summary update, and a query copies each live bucket under its lock and
+ * merges the copies unlocked, so queries never hold adds back for a whole merge.
+ */
+public class WindowedHeavyHitters {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final LongSupplier clock;
+
+    /**
+     * @param bucketCount Buckets retained; the longest queryable window is bucketCount * bucket
+     * @param bucket Bucket length
+     * @param sketchDepth Count-min rows; failure probability is e^-depth
+     * @param sketchWidth Count-min columns; over-estimation is at most e / width of a bucket's total
+     * @param capacity Space-saving counters per bucket; keys above 1 / capacity of a bucket's total are always found
+     */
+    public WindowedHeavyHitters(int bucketCount, Duration bucket, int sketchDepth, int sketchWidth, int capacity) {
+        this(bucketCount, bucket, sketchDepth, sketchWidth, capacity, System::currentTimeMillis);
+    }
+
+    WindowedHeavyHitters(int bucketCount, Duration bucket, int sketchDepth, int sketchWidth, int capacity,
+                         LongSupplier clock) {
+        this.clock = clock;
+        this.bucketMillis = Math.max(1, bucket.toMillis());
+        this.buckets = new Bucket[Math.max(1, bucketCount)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket(new CountMinSketch(sketchDepth, sketchWidth), new SpaceSaving(capacity));
+        }
+    }
+
+    /**
+     * Add weight for a key to the current bucket
+     */
+    public void add(String key, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        long[] hashes = hash(key);
+        long epoch = clock.getAsLong() / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) {
+                bucket.reset(epoch);
+            }
+            bucket.sketch.add(hashes, weight);
+            bucket.summary.add(key, weight);
+            bucket.total += weight;
+        }
+    }
+
+    /**
+     * The heaviest keys of the window, heaviest first
+     */
+    public List<HeavyHitter> top(int limit, Duration window) {
+        List<Bucket> live = new ArrayList<>();
+        long[] range = range(window);
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (bucket.isLive(range)) {
+                    live.add(bucket.copy());
+                }
+            }
+        }
+        Set<String> candidates = new HashSet<>();
+        for (Bucket bucket : live) {
+            candidates.addAll(bucket.summary.keys());
+        }
+
+        List<HeavyHitter> hitters = new ArrayList<>(candidates.size());
+        for (String key : candidates) {
+            long[] hashes = hash(key);
+            long estimate = 0;
+            long guaranteed = 0;
+            for (Bucket bucket : live) {
+                long sketched = bucket.sketch.estimate(hashes);
+                long counted = bucket.summary.count(key);
+                estimate += counted >= 0 ? Math.min(sketched, counted) : sketched;
+                guaranteed += bucket.summary.guaranteed(key);
+            }
+            hitters.add(new HeavyHitter(key, estimate, guaranteed));
+        }
+        hitters.sort(Comparator.comparingLong(HeavyHitter::estimate).reversed()
+                .thenComparing(HeavyHitter::key));
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    /**
+     * Upper bound of a key's weight in the window
+     */
+    public long estimate(String key, Duration window) {
+        long[] hashes = hash(key);
+        long[] range = range(window);
+        long estimate = 0;
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (bucket.isLive(range)) {
+                    estimate += bucket.sketch.estimate(hashes);
+                }
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Exact total weight of all keys in the window
+     */
+    public long total(Duration window) {
+        long[] range = range(window);
+        long total = 0;
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (bucket.isLive(range)) {
+                    total += bucket.total;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Longest queryable window
+     */
+    public Duration history() {
+        return Duration.ofMillis(bucketMillis * buckets.length);
+    }
+
+    /**
+     * Memory held by all buckets, in bytes
+     */
+    public long sizeInBytes() {
+        return buckets.length * (buckets[0].sketch.sizeInBytes() + buckets[0].summary.sizeInBytes());
+    }
+
+    /**
+     * Epochs of the buckets within the window ending with the current bucket, as {first, last}
+     */
+    private long[] range(Duration window) {
+        long current = clock.getAsLong() / bucketMillis;
+        long count = Math.min(buckets.length, Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis));
+        return new long[] {current - count + 1, current};
+    }
+
+    private static long[] hash(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x9e3779b97f4a7c15L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = Long.rotateLeft(h2 ^ (b & 0xff), 31) * 0xbf58476d1ce4e5b9L;
+        }
+        return new long[] {mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Bucket {
+
+        private final CountMinSketch sketch;
+        private final SpaceSaving summary;
+        private long epoch = -1;
+        private long total;
+
+        private Bucket(CountMinSketch sketch, SpaceSaving summary) {
+            this.sketch = sketch;
+            this.summary = summary;
+        }
+
+        private boolean isLive(long[] range) {
+            return epoch >= range[0] && epoch <= range[1];
+        }
+
+        private Bucket copy() {
+            Bucket copy = new Bucket(sketch.copy(), summary.copy());
+            copy.epoch = epoch;
+            copy.total = total;
+            return copy;
+        }
+
+        private void reset(long epoch) {
+            sketch.clear();
+            summary.clear();
+            total = 0;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.beckn.catalog.claimcheck;
+
+/**
+ * Pluggable storage for claim-checked payloads
+ */
+public interface BlobStore {
+
+    /**
+     * Store a payload and return a reference to it. Storing the same bytes twice
+     * may return the same reference without writing again.
+     */
+    ClaimCheck put(byte[] payload);
+
+    /**
+     * Load the payload for a reference
+     */
+    byte[] get(ClaimCheck claimCheck);
+
+    /**
+     * Whether this store can resolve the given URI
+     */
+    boolean supports(String uri);
+}
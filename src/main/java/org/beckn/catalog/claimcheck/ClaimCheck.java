@@ -0,0 +1,11 @@
+package org.beckn.catalog.claimcheck;
+
+/**
+ * Reference to a payload held in a {@link BlobStore}
+ *
+ * @param uri Location of the payload in the blob store
+ * @param sha256 Hex encoded SHA-256 of the payload bytes
+ * @param size Payload size in bytes
+ */
+public record ClaimCheck(String uri, String sha256, long size) {
+}
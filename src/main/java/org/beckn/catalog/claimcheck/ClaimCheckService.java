@@ -0,0 +1,144 @@
+package org.beckn.catalog.claimcheck;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Claim-check handling for oversized payloads.
+ *
+ * Outbound payloads above the size threshold are written once to the {@link BlobStore} and
+ * replaced by a reference. Inbound records carrying a reference (header or JSON body) are
+ * dereferenced and verified against their checksum.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimCheckService {
+
+    public static final String HEADER_CLAIM_CHECK = "x-claim-check";
+    public static final String HEADER_CLAIM_CHECK_SHA256 = "x-claim-check-sha256";
+    public static final String FIELD_CLAIM_CHECK = "claim_check";
+
+    private static final int MAX_REFERENCE_BODY_LENGTH = 4096;
+
+    private final BlobStore blobStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.claim-check.enabled:false}")
+    private boolean enabled;
+
+    @Value("${catalog.claim-check.threshold-bytes:524288}")
+    private int thresholdBytes;
+
+    /**
+     * Whether an outbound payload should be replaced by a claim-check
+     */
+    public boolean shouldOffload(String payload) {
+        // UTF-8 is at most 3 bytes per char, so short strings can skip the exact byte count
+        return enabled && payload != null && payload.length() * 3L > thresholdBytes
+                && payload.getBytes(StandardCharsets.UTF_8).length > thresholdBytes;
+    }
+
+    /**
+     * Store a payload in the blob store
+     */
+    public ClaimCheck offload(String payload) {
+        ClaimCheck claimCheck = blobStore.put(payload.getBytes(StandardCharsets.UTF_8));
+        log.info("Offloaded {} byte payload to claim-check {}", claimCheck.size(), claimCheck.uri());
+        return claimCheck;
+    }
+
+    /**
+     * Reference as a JSON-friendly map
+     */
+    public Map<String, Object> toMap(ClaimCheck claimCheck) {
+        Map<String, Object> reference = new LinkedHashMap<>();
+        reference.put("uri", claimCheck.uri());
+        reference.put("sha256", claimCheck.sha256());
+        reference.put("size", claimCheck.size());
+        return reference;
+    }
+
+    /**
+     * Record value standing in for an offloaded payload: {@code {"claim_check": {...}}}
+     */
+    public String toReferenceBody(ClaimCheck claimCheck) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(FIELD_CLAIM_CHECK, toMap(claimCheck)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize claim-check reference", e);
+        }
+    }
+
+    /**
+     * Resolve an inbound record value. Values referenced by an {@code x-claim-check} header or a
+     * {@code {"claim_check": {...}}} body are loaded from the blob store and checksum-verified;
+     * anything else is returned unchanged.
+     */
+    public String resolve(String value, Headers headers) {
+        ClaimCheck claimCheck = fromHeaders(headers);
+        if (claimCheck == null) {
+            claimCheck = fromBody(value);
+        }
+        if (claimCheck == null) {
+            return value;
+        }
+
+        if (!blobStore.supports(claimCheck.uri())) {
+            throw new IllegalArgumentException("Unsupported claim-check location: " + claimCheck.uri());
+        }
+        byte[] payload = blobStore.get(claimCheck);
+        if (claimCheck.sha256() != null) {
+            String actual = Checksums.sha256(payload);
+            if (!actual.equalsIgnoreCase(claimCheck.sha256())) {
+                throw new IllegalStateException("Claim-check checksum mismatch for " + claimCheck.uri()
+                        + ": expected " + claimCheck.sha256() + ", got " + actual);
+            }
+        }
+        log.debug("Resolved claim-check {} ({} bytes)", claimCheck.uri(), payload.length);
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private ClaimCheck fromHeaders(Headers headers) {
+        if (headers == null) {
+            return null;
+        }
+        Header uri = headers.lastHeader(HEADER_CLAIM_CHECK);
+        if (uri == null) {
+            return null;
+        }
+        Header sha256 = headers.lastHeader(HEADER_CLAIM_CHECK_SHA256);
+        return new ClaimCheck(
+                new String(uri.value(), StandardCharsets.UTF_8),
+                sha256 != null ? new String(sha256.value(), StandardCharsets.UTF_8) : null,
+                -1);
+    }
+
+    private ClaimCheck fromBody(String value) {
+        if (value == null || value.length() > MAX_REFERENCE_BODY_LENGTH || !value.contains(FIELD_CLAIM_CHECK)) {
+            return null;
+        }
+        try {
+            JsonNode reference = objectMapper.readTree(value).path(FIELD_CLAIM_CHECK);
+            if (!reference.hasNonNull("uri")) {
+                return null;
+            }
+            return new ClaimCheck(
+                    reference.path("uri").asText(),
+                    reference.hasNonNull("sha256") ? reference.path("sha256").asText() : null,
+                    reference.path("size").asLong(-1));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
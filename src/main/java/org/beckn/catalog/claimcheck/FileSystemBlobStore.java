@@ -0,0 +1,70 @@
+package org.beckn.catalog.claimcheck;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Content-addressed blob store on a local (or shared) filesystem.
+ * Payloads are stored under {@code <base-dir>/<sha[0..2]>/<sha>}, so the same payload is written once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "catalog.claim-check.store", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path baseDir;
+
+    public FileSystemBlobStore(@Value("${catalog.claim-check.filesystem.base-dir:/tmp/catalog-claim-checks}") String baseDir) {
+        this.baseDir = Path.of(baseDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public ClaimCheck put(byte[] payload) {
+        String sha256 = Checksums.sha256(payload);
+        Path target = baseDir.resolve(sha256.substring(0, 2)).resolve(sha256);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Path temp = Files.createTempFile(target.getParent(), sha256, ".tmp");
+                Files.write(temp, payload);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    Files.deleteIfExists(temp);
+                }
+                log.debug("Stored claim-check payload {} ({} bytes)", sha256, payload.length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store claim-check payload " + sha256, e);
+        }
+        return new ClaimCheck(target.toUri().toString(), sha256, payload.length);
+    }
+
+    @Override
+    public byte[] get(ClaimCheck claimCheck) {
+        Path path = Path.of(URI.create(claimCheck.uri())).toAbsolutePath().normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Claim-check outside of blob store: " + claimCheck.uri());
+        }
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read claim-check payload " + claimCheck.uri(), e);
+        }
+    }
+
+    @Override
+    public boolean supports(String uri) {
+        return uri != null && uri.startsWith("file:");
+    }
+}
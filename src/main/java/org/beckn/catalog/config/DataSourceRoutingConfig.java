@@ -0,0 +1,92 @@
+package org.beckn.catalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.beckn.catalog.datasource.ReadWriteRoutingDataSource;
+import org.beckn.catalog.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Read/write split: read-only transactions use a separate replica pool, everything else
+ * (ingestion, Flyway, schema validation) uses the primary pool. Each pool is sized on its
+ * own, so read traffic cannot exhaust the connections ingestion needs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${catalog.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${catalog.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${catalog.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${catalog.datasource.replica.max-lag:PT5S}")
+    private Duration replicaMaxLag;
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("catalog.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(replicaDataSource, replicaMaxLag);
+        Gauge.builder("catalog.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagMs)
+                .description("Replication lag of the read replica in milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("catalog.datasource.replica.usable", replicaLagMonitor, m -> m.isReplicaUsable() ? 1 : 0)
+                .description("1 while reads are routed to the replica, 0 while they fall back to primary")
+                .register(meterRegistry);
+        return replicaLagMonitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        // Defer connection lookup until the transaction's read-only flag is bound
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
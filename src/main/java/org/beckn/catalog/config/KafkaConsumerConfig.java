@@ -1,14 +1,17 @@
 package org.beckn.catalog.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.beckn.catalog.messaging.consumer.InFlightRecordTracker;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
@@ -29,29 +32,57 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${spring.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${catalog.consumer.assignment-strategy:org.apache.kafka.clients.consumer.CooperativeStickyAssignor}")
+    private String assignmentStrategy;
+
+    @Value("${catalog.consumer.group-instance-id:}")
+    private String groupInstanceId;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, String> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        return new DefaultKafkaConsumerFactory<>(props);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // Incremental rebalancing: only moved partitions are revoked, the rest keep consuming
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, assignmentStrategy);
+        if (!groupInstanceId.isBlank()) {
+            // Static membership: a restart within session.timeout.ms triggers no rebalance.
+            // The container suffixes the id per consumer when concurrency > 1.
+            props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId);
+        }
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(props);
+        // Client metrics (records-lag etc.) are read by the adaptive consumption controller
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Value("${spring.kafka.listener.concurrency:1}")
     private String listenerConcurrency;
 
+    @Value("${catalog.scheduling.enabled:false}")
+    private boolean fairSchedulingEnabled;
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
             ConsumerFactory<String, String> consumerFactory,
-            CommonErrorHandler errorHandler) {
+            CommonErrorHandler errorHandler,
+            InFlightRecordTracker inFlightRecordTracker) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         factory.setCommonErrorHandler(errorHandler);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // Scheduled processing completes records out of order on worker threads
+        factory.getContainerProperties().setAsyncAcks(fairSchedulingEnabled);
+        // Drain in-flight records and commit their offsets before revoked partitions move
+        factory.getContainerProperties().setConsumerRebalanceListener(inFlightRecordTracker);
         log.info("Configured Kafka listener concurrency: {}", listenerConcurrency);
         return factory;
     }
@@ -0,0 +1,103 @@
+package org.beckn.catalog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.StreamsUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBeanConfigurer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams processing mode (profile {@code streams}): see
+ * {@link org.beckn.catalog.streams.CatalogStreamsTopology}
+ */
+@Slf4j
+@Configuration
+@Profile("streams")
+@EnableKafkaStreams
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${catalog.streams.application-id:catalog-streams}")
+    private String applicationId;
+
+    @Value("${catalog.streams.processing-guarantee:exactly_once_v2}")
+    private String processingGuarantee;
+
+    @Value("${catalog.streams.threads:1}")
+    private int threads;
+
+    @Value("${catalog.streams.standby-replicas:0}")
+    private int standbyReplicas;
+
+    @Value("${catalog.streams.state-dir:${java.io.tmpdir}/catalog-streams}")
+    private String stateDir;
+
+    @Value("${kafka.topics.replication-factor:1}")
+    private int replicationFactor;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration defaultKafkaStreamsConfig() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Input offsets, state store changelog and output records commit in one transaction
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, processingGuarantee);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, threads);
+        // Warm copies of the item state store on other instances for fast failover
+        props.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, standbyReplicas);
+        props.put(StreamsConfig.REPLICATION_FACTOR_CONFIG, replicationFactor);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.consumerPrefix(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG), "earliest");
+        log.info("Kafka Streams mode: application.id={}, processing.guarantee={}, threads={}",
+                applicationId, processingGuarantee, threads);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    public StreamsBuilderFactoryBeanConfigurer streamsUncaughtExceptionConfigurer() {
+        // A failed stream thread is replaced; its tasks resume from the last committed transaction
+        return factoryBean -> factoryBean.setStreamsUncaughtExceptionHandler(exception -> {
+            log.error("Kafka Streams thread failed, replacing it: {}", exception.getMessage(), exception);
+            return StreamsUncaughtExceptionHandler.StreamThreadExceptionResponse.REPLACE_THREAD;
+        });
+    }
+
+    /**
+     * Batch listener for the Postgres sink; a failing batch is retried until the database is back
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> itemSinkContainerFactory(
+            ConsumerFactory<String, String> consumerFactory,
+            @Value("${catalog.streams.sink.concurrency:1}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(30000L);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
@@ -1,12 +1,19 @@
 package org.beckn.catalog.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Configuration
+@EnableConfigurationProperties(OutputRoutingProperties.class)
 public class KafkaTopicsConfig {
     @Value("${topics.input}")
     private String inputTopic;
@@ -17,12 +24,27 @@ public class KafkaTopicsConfig {
     @Value("${topics.dlt}")
     private String dltTopic;
     
+    @Value("${topics.item-state}")
+    private String itemStateTopic;
+    
     @Value("${kafka.topics.partitions:3}")
     private int numPartitions;
     
     @Value("${kafka.topics.replication-factor:1}")
     private short replicationFactor;
 
+    @Value("${kafka.topics.item-state.segment-ms:3600000}")
+    private long itemStateSegmentMs;
+
+    @Value("${kafka.topics.item-state.min-compaction-lag-ms:600000}")
+    private long itemStateMinCompactionLagMs;
+
+    @Value("${kafka.topics.item-state.min-cleanable-dirty-ratio:0.1}")
+    private String itemStateMinCleanableDirtyRatio;
+
+    @Value("${kafka.topics.item-state.delete-retention-ms:86400000}")
+    private long itemStateDeleteRetentionMs;
+
     @Bean
     public NewTopic inputTopic() {
         return TopicBuilder.name(inputTopic)
@@ -46,4 +68,38 @@ public class KafkaTopicsConfig {
                 .replicas(replicationFactor)
                 .build();
     }
+
+    /**
+     * Log-compacted topic holding only the latest state of every live item, keyed by item_id.
+     * Deleted items are represented by tombstones (null values) that compaction eventually drops.
+     */
+    @Bean
+    public NewTopic itemStateTopic() {
+        return TopicBuilder.name(itemStateTopic)
+                .partitions(numPartitions)
+                .replicas(replicationFactor)
+                .compact()
+                .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(itemStateSegmentMs))
+                .config(TopicConfig.MIN_COMPACTION_LAG_MS_CONFIG, String.valueOf(itemStateMinCompactionLagMs))
+                .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, itemStateMinCleanableDirtyRatio)
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, String.valueOf(itemStateDeleteRetentionMs))
+                .build();
+    }
+
+    /**
+     * Per-domain output topics from topics.routing.routes
+     */
+    @Bean
+    public KafkaAdmin.NewTopics routedOutputTopics(OutputRoutingProperties routing) {
+        Set<String> topics = new LinkedHashSet<>();
+        if (routing.enabled()) {
+            routing.routes().forEach(route -> topics.add(route.topic()));
+        }
+        return new KafkaAdmin.NewTopics(topics.stream()
+                .map(topic -> TopicBuilder.name(topic)
+                        .partitions(numPartitions)
+                        .replicas(replicationFactor)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
 }
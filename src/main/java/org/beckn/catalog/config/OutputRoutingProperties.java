@@ -0,0 +1,33 @@
+package org.beckn.catalog.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+/**
+ * Routing of item events to per-domain output topics ({@code topics.routing})
+ *
+ * @param enabled Route item events by context.domain / city; otherwise everything goes to topics.output
+ * @param providerAffinity Place all items of a provider on one partition of their topic
+ * @param routes Routes in match order; a route without a city matches every city of its domain.
+ *               Every route needs a domain and a topic, checked at startup
+ */
+@Validated
+@ConfigurationProperties(prefix = "topics.routing")
+public record OutputRoutingProperties(boolean enabled, boolean providerAffinity, List<@Valid Route> routes) {
+
+    public OutputRoutingProperties {
+        routes = routes != null ? routes : List.of();
+    }
+
+    /**
+     * @param domain Beckn context.domain, e.g. {@code ONDC:RET10} (case-insensitive)
+     * @param city Beckn city code, e.g. {@code std:080}; optional
+     * @param topic Output topic for matching item events
+     */
+    public record Route(@NotBlank String domain, String city, @NotBlank String topic) {
+    }
+}
@@ -0,0 +1,120 @@
+package org.beckn.catalog.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Clients of the reactive ingestion engine (profile {@code reactive}).
+ *
+ * Kafka clients reuse the consumer/producer factory settings, so group, assignor and static
+ * membership are the same as for the listener engine. The R2DBC pool points at the schema
+ * Flyway migrates over JDBC; Spring's R2DBC auto-configuration is excluded so the blocking
+ * engine keeps a single transaction manager.
+ *
+ * The pool is not a {@link ConnectionFactory} bean: Boot backs off its JDBC DataSource when one
+ * exists, and Flyway, JPA and the JDBC writes this engine shares with the listener need it.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+public class ReactiveEngineConfig {
+
+    @Value("${topics.input}")
+    private String inputTopic;
+
+    @Bean(destroyMethod = "dispose")
+    public R2dbcPool r2dbcPool(
+            @Value("${catalog.reactive.r2dbc.url}") String url,
+            @Value("${catalog.reactive.r2dbc.username:${spring.datasource.username}}") String username,
+            @Value("${catalog.reactive.r2dbc.password:${spring.datasource.password}}") String password,
+            @Value("${catalog.reactive.r2dbc.pool.initial-size:2}") int initialSize,
+            @Value("${catalog.reactive.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new R2dbcPool(new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("catalog-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build()));
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcPool r2dbcPool) {
+        return DatabaseClient.create(r2dbcPool.connectionPool());
+    }
+
+    /**
+     * Partitions taken away from this instance, so the engine can close their processing lanes
+     */
+    @Bean
+    public Sinks.Many<TopicPartition> revokedPartitions() {
+        return Sinks.many().multicast().directBestEffort();
+    }
+
+    @Bean
+    public KafkaReceiver<String, String> kafkaReceiver(
+            ConsumerFactory<String, String> consumerFactory,
+            Sinks.Many<TopicPartition> revokedPartitions,
+            @Value("${catalog.reactive.commit-interval:PT1S}") Duration commitInterval,
+            @Value("${catalog.reactive.commit-batch-size:500}") int commitBatchSize) {
+        ReceiverOptions<String, String> options = ReceiverOptions.<String, String>create(
+                        consumerFactory.getConfigurationProperties())
+                .subscription(List.of(inputTopic))
+                // Acknowledged offsets are committed periodically and before revoked partitions move
+                .commitInterval(commitInterval)
+                .commitBatchSize(commitBatchSize)
+                .addAssignListener(partitions -> log.info("Reactive engine assigned {}", partitions))
+                .addRevokeListener(partitions -> {
+                    log.info("Reactive engine revoked {}", partitions);
+                    // Emitted from the consumer thread only
+                    partitions.forEach(partition -> revokedPartitions.tryEmitNext(partition.topicPartition()));
+                });
+        return KafkaReceiver.create(options);
+    }
+
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, String> kafkaSender(
+            ProducerFactory<String, String> producerFactory,
+            @Value("${catalog.reactive.max-in-flight-sends:1024}") int maxInFlight) {
+        SenderOptions<String, String> options = SenderOptions.<String, String>create(
+                        producerFactory.getConfigurationProperties())
+                // Upstream demand stops while this many sends are unacknowledged
+                .maxInFlight(maxInFlight)
+                // Failures are reported per record so the engine can route the event to the DLT
+                .stopOnError(false);
+        return KafkaSender.create(options);
+    }
+
+    /**
+     * Holder of the engine's R2DBC pool, which keeps it out of the context as a ConnectionFactory
+     */
+    public record R2dbcPool(ConnectionPool connectionPool) {
+
+        public void dispose() {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.beckn.catalog.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the read-only flag is only bound
+ * after the transaction manager has begun the transaction, so the physical connection has to be
+ * fetched lazily on the first statement. Falls back to the primary while the replica is lagging
+ * or unreachable.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
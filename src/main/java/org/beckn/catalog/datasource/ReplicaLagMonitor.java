@@ -0,0 +1,73 @@
+package org.beckn.catalog.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Tracks replication lag of the read replica and decides whether reads may be routed to it.
+ *
+ * Lag is the age of the last replayed transaction, or zero when the replica has replayed
+ * everything it received (an idle primary would otherwise look like a lagging replica).
+ * A server that is not in recovery, e.g. a second standalone instance, reports zero lag.
+ * The replica is unusable while its lag exceeds the maximum or it cannot be queried.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL =
+            "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) " +
+            "END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMs = maxLag.toMillis();
+    }
+
+    /**
+     * Sample the replica's lag. Reads stay on the primary until the first successful sample.
+     */
+    @Scheduled(fixedDelayString = "${catalog.datasource.replica.lag-check-interval-ms:2000}")
+    public void refresh() {
+        boolean wasUsable = replicaUsable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagMs = lag != null ? lag : 0;
+            replicaUsable = lagMs <= maxLagMs;
+        } catch (Exception e) {
+            lagMs = Double.NaN;
+            replicaUsable = false;
+            if (wasUsable) {
+                log.warn("Read replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != replicaUsable) {
+            log.info("Read replica {} (lag {} ms, max {} ms)",
+                    replicaUsable ? "in use" : "lagging, routing reads to primary", Math.round(lagMs), maxLagMs);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Last sampled lag in milliseconds; NaN if the replica could not be queried
+     */
+    public double getLagMs() {
+        return lagMs;
+    }
+}
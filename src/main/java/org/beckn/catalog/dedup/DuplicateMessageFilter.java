@@ -0,0 +1,128 @@
+package org.beckn.catalog.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.service.BecknContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Suppresses redelivered Beckn messages keyed on {@code context.message_id} + {@code context.bpp_id}.
+ *
+ * A time-windowed Bloom filter answers the common "never seen" case from memory; only Bloom
+ * positives are confirmed against the exact {@code processed_messages} table. On startup the
+ * filter is warmed from the table so restarts do not open a window for duplicates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.dedup.enabled", havingValue = "true")
+public class DuplicateMessageFilter {
+
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.dedup.window:PT24H}")
+    private Duration window;
+
+    @Value("${catalog.dedup.expected-messages-per-window:1000000}")
+    private long expectedMessagesPerWindow;
+
+    @Value("${catalog.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** Off only for runs without a database, e.g. the CDS training run */
+    @Value("${catalog.dedup.warm-up:true}")
+    private boolean warmUp;
+
+    private TimeWindowedBloomFilter bloomFilter;
+    private Counter checks;
+    private Counter bloomPositives;
+    private Counter duplicates;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = new TimeWindowedBloomFilter(expectedMessagesPerWindow, falsePositiveRate, window.toMillis());
+        checks = counter("catalog.dedup.checks", "Messages checked for duplicates");
+        bloomPositives = counter("catalog.dedup.bloom.positives", "Messages the Bloom filter may have seen");
+        duplicates = counter("catalog.dedup.duplicates", "Duplicate messages dropped");
+        falsePositives = counter("catalog.dedup.bloom.false.positives", "Bloom positives not confirmed by the store");
+        Gauge.builder("catalog.dedup.bloom.bytes", bloomFilter, TimeWindowedBloomFilter::sizeInBytes)
+                .description("Memory held by the duplicate Bloom filter")
+                .register(meterRegistry);
+
+        long[] warmed = {0};
+        if (warmUp) {
+            processedMessageRepository.forEachSince(Instant.now().minus(window), (messageId, bppId) -> {
+                bloomFilter.put(key(messageId, bppId));
+                warmed[0]++;
+            });
+        }
+        log.info("Duplicate filter ready: window={}, bloom={} bytes, warmed with {} processed messages",
+                window, bloomFilter.sizeInBytes(), warmed[0]);
+    }
+
+    /**
+     * Whether this message has already been processed. Messages without a message_id are never duplicates.
+     */
+    public boolean isDuplicate(BecknContext context) {
+        if (!isKeyed(context)) {
+            return false;
+        }
+        checks.increment();
+        if (!bloomFilter.mightContain(key(context.messageId(), context.bppId()))) {
+            return false;
+        }
+        bloomPositives.increment();
+        if (processedMessageRepository.exists(context.messageId(), context.bppId())) {
+            duplicates.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Record a successfully processed message
+     */
+    public void markProcessed(BecknContext context) {
+        if (!isKeyed(context)) {
+            return;
+        }
+        processedMessageRepository.record(context.messageId(), context.bppId());
+        bloomFilter.put(key(context.messageId(), context.bppId()));
+    }
+
+    /**
+     * Drop confirmation rows that have left the window
+     */
+    @Scheduled(fixedDelayString = "${catalog.dedup.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = processedMessageRepository.deleteOlderThan(Instant.now().minus(window));
+        if (deleted > 0) {
+            log.info("Purged {} processed message records older than {}", deleted, window);
+        }
+    }
+
+    private static boolean isKeyed(BecknContext context) {
+        return context.messageId() != null && !context.messageId().isEmpty() && context.bppId() != null;
+    }
+
+    private static String key(String messageId, String bppId) {
+        return messageId + '\u0000' + bppId;
+    }
+
+    private Counter counter(String name, String description) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package org.beckn.catalog.dedup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+
+/**
+ * Exact store of processed Beckn messages, keyed by context.message_id and context.bpp_id
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedMessageRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean exists(String messageId, String bppId) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM processed_messages WHERE message_id = ? AND bpp_id = ?)",
+                Boolean.class, messageId, bppId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void record(String messageId, String bppId) {
+        jdbcTemplate.update(
+                "INSERT INTO processed_messages (message_id, bpp_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                messageId, bppId);
+    }
+
+    /**
+     * Stream keys processed since the given instant
+     */
+    public void forEachSince(Instant since, BiConsumer<String, String> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT message_id, bpp_id FROM processed_messages WHERE processed_at >= ?");
+            statement.setFetchSize(10_000);
+            statement.setTimestamp(1, Timestamp.from(since));
+            return statement;
+        }, resultSet -> {
+            consumer.accept(resultSet.getString(1), resultSet.getString(2));
+        });
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM processed_messages WHERE processed_at < ?", Timestamp.from(cutoff));
+    }
+}
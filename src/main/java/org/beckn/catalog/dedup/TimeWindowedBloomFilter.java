@@ -0,0 +1,153 @@
+package org.beckn.catalog.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory Bloom filter over a sliding time window.
+ *
+ * {@value #GENERATIONS} generations are kept: keys are added to the newest one and looked up in
+ * all of them. Every {@code window / (GENERATIONS - 1)} the oldest generation is dropped and a
+ * new one started, so a key is remembered for at least a full window (and at most
+ * {@code GENERATIONS / (GENERATIONS - 1)} windows), and memory never grows.
+ */
+public class TimeWindowedBloomFilter {
+
+    static final int GENERATIONS = 3;
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long rotationMillis;
+    private final LongSupplier clock;
+
+    /** Newest generation first */
+    private volatile AtomicLongArray[] generations;
+    private volatile long rotatedAt;
+
+    /**
+     * @param expectedInsertionsPerWindow Keys expected per window; sizes the bit arrays
+     * @param falsePositiveRate Target false positive rate at the expected load, over all generations
+     * @param windowMillis Window length in milliseconds
+     */
+    public TimeWindowedBloomFilter(long expectedInsertionsPerWindow, double falsePositiveRate, long windowMillis) {
+        this(expectedInsertionsPerWindow, falsePositiveRate, windowMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock Source of the current time in milliseconds
+     */
+    TimeWindowedBloomFilter(long expectedInsertionsPerWindow, double falsePositiveRate, long windowMillis,
+                            LongSupplier clock) {
+        // Traffic may be bursty, so each generation is sized for a whole window's keys; a lookup
+        // may hit any generation, so each gets a share of the target rate
+        long n = Math.max(1, expectedInsertionsPerWindow);
+        double generationRate = falsePositiveRate / GENERATIONS;
+        long bits = (long) Math.ceil(-n * Math.log(generationRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.rotationMillis = Math.max(1, windowMillis / (GENERATIONS - 1));
+        this.generations = new AtomicLongArray[GENERATIONS];
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations[i] = new AtomicLongArray((bitCount + 63) / 64);
+        }
+        this.clock = clock;
+        this.rotatedAt = clock.getAsLong();
+    }
+
+    /**
+     * Whether the key may have been added within the window; {@code false} is definite
+     */
+    public boolean mightContain(String key) {
+        rotateIfDue();
+        long[] hashes = hash(key);
+        for (AtomicLongArray bits : generations) {
+            if (contains(bits, hashes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remember a key for the current window
+     */
+    public void put(String key) {
+        rotateIfDue();
+        long[] hashes = hash(key);
+        AtomicLongArray bits = generations[0];
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hashes, i);
+            long mask = 1L << (index & 63);
+            int word = index >>> 6;
+            long value;
+            do {
+                value = bits.get(word);
+            } while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+        }
+    }
+
+    /**
+     * Memory held by all generations, in bytes
+     */
+    public long sizeInBytes() {
+        return (long) GENERATIONS * generations[0].length() * Long.BYTES;
+    }
+
+    private boolean contains(AtomicLongArray bits, long[] hashes) {
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hashes, i);
+            if ((bits.get(index >>> 6) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfDue() {
+        long now = clock.getAsLong();
+        if (now - rotatedAt < rotationMillis) {
+            return;
+        }
+        synchronized (this) {
+            long due = (now - rotatedAt) / rotationMillis;
+            if (due < 1) {
+                return;
+            }
+            // Rotations missed while idle are applied at once; older generations shift down
+            int shift = (int) Math.min(GENERATIONS, due);
+            AtomicLongArray[] rotated = new AtomicLongArray[GENERATIONS];
+            for (int i = 0; i < GENERATIONS; i++) {
+                rotated[i] = i < shift ? new AtomicLongArray(generations[0].length()) : generations[i - shift];
+            }
+            generations = rotated;
+            // Rotation times stay on the grid so no generation lives longer than planned
+            rotatedAt += due * rotationMillis;
+        }
+    }
+
+    /**
+     * Kirsch-Mitzenmacher double hashing: index_i = h1 + i * h2
+     */
+    private int index(long[] hashes, int i) {
+        long combined = hashes[0] + i * hashes[1];
+        return (int) ((combined & Long.MAX_VALUE) % bitCount);
+    }
+
+    private static long[] hash(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x9e3779b97f4a7c15L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = Long.rotateLeft(h2 ^ (b & 0xff), 31) * 0xbf58476d1ce4e5b9L;
+        }
+        return new long[] {mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -2,10 +2,12 @@ package org.beckn.catalog.entity;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
+import org.beckn.catalog.tags.ItemTag;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -29,6 +31,18 @@ public class CatalogItem {
     @Column(name = "item_data", nullable = false, columnDefinition = "jsonb")
     private JsonNode itemData;
 
+    /**
+     * Version of the source catalog (Beckn context.timestamp); older versions never overwrite newer ones
+     */
+    @Column(name = "source_timestamp")
+    private OffsetDateTime sourceTimestamp;
+
+    /**
+     * Beckn context.domain of the source catalog; selects the output topic and retention TTL
+     */
+    @Column(name = "domain", length = 255)
+    private String domain;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -41,6 +55,32 @@ public class CatalogItem {
     @Column(name = "updated_by", length = 255)
     private String updatedBy;
 
+    /**
+     * Verbatim item JSON from the source message; when set it is persisted and published
+     * as-is instead of serializing {@link #itemData}
+     */
+    @Transient
+    private String rawItemData;
+
+    /**
+     * Beckn context.city of the event the item came from, used for output routing
+     */
+    @Transient
+    private String city;
+
+    /**
+     * Provider locations the item references (location_id / location_ids); empty when it
+     * references none
+     */
+    @Transient
+    private List<String> locationIds = List.of();
+
+    /**
+     * Tags of the item (tags[].list[]) to be indexed in item_tags
+     */
+    @Transient
+    private List<ItemTag> tags = List.of();
+
     // Default constructor
     public CatalogItem() {
         this.createdAt = OffsetDateTime.now();
@@ -112,6 +152,54 @@ public class CatalogItem {
         this.itemData = itemData;
     }
 
+    public OffsetDateTime getSourceTimestamp() {
+        return sourceTimestamp;
+    }
+
+    public void setSourceTimestamp(OffsetDateTime sourceTimestamp) {
+        this.sourceTimestamp = sourceTimestamp;
+    }
+
+    public String getRawItemData() {
+        return rawItemData;
+    }
+
+    public void setRawItemData(String rawItemData) {
+        this.rawItemData = rawItemData;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public void setDomain(String domain) {
+        this.domain = domain;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public List<String> getLocationIds() {
+        return locationIds;
+    }
+
+    public void setLocationIds(List<String> locationIds) {
+        this.locationIds = locationIds;
+    }
+
+    public List<ItemTag> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<ItemTag> tags) {
+        this.tags = tags;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,191 @@
+package org.beckn.catalog.geo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius cover for prefix-indexed proximity queries.
+ *
+ * A geohash interleaves longitude and latitude bits (Z-order curve) in base32, so every prefix
+ * is a rectangular cell and all points of a cell share that prefix. A circle is covered by the
+ * cell containing its center plus the neighbouring cells of a precision whose cells are at
+ * least as large as the radius; cells that lie entirely outside the circle are dropped.
+ * Candidates found by prefix must still be refined with {@link #distanceMeters}.
+ */
+public final class GeoHash {
+
+    /** Precision stored per location: cells of about 4.8 m x 4.8 m */
+    public static final int STORED_PRECISION = 9;
+
+    /** Sorts after every base32 character; {@code [prefix, prefix + RANGE_END)} spans a cell */
+    public static final String RANGE_END = "{";
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180;
+    private static final int MAX_PRECISION = 12;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Geohash of a point
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Geohash prefixes whose cells together contain every point within radiusMeters of the center.
+     * Returns a single empty prefix (all points) when the radius exceeds the coarsest cells.
+     */
+    public static List<String> cover(double latitude, double longitude, double radiusMeters) {
+        int precision = coverPrecision(latitude, radiusMeters);
+        if (precision == 0) {
+            return List.of("");
+        }
+        double cellLat = cellHeightDegrees(precision);
+        double cellLon = cellWidthDegrees(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            double lat = latitude + dLat * cellLat;
+            if (lat < -90 || lat > 90) {
+                continue;
+            }
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                double lon = wrapLongitude(longitude + dLon * cellLon);
+                String cell = encode(lat, lon, precision);
+                if (!cells.contains(cell) && minDistanceMeters(cell, latitude, longitude) <= radiusMeters) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Great-circle (haversine) distance in meters
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Finest precision whose cells are at least radiusMeters high and wide around the center,
+     * so that the 3x3 cells around it cover the circle; 0 when no precision qualifies
+     */
+    static int coverPrecision(double latitude, double radiusMeters) {
+        double radiusLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        // Cells are narrowest on the circle's edge nearest to a pole
+        double widestLat = Math.min(90, Math.abs(latitude) + radiusLat);
+        double metersPerDegreeLon = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(widestLat));
+        for (int precision = MAX_PRECISION; precision >= 1; precision--) {
+            if (cellHeightDegrees(precision) >= radiusLat
+                    && cellWidthDegrees(precision) * metersPerDegreeLon >= radiusMeters) {
+                return precision;
+            }
+        }
+        return 0;
+    }
+
+    private static double cellHeightDegrees(int precision) {
+        return 180 / Math.pow(2, (5 * precision) / 2);
+    }
+
+    private static double cellWidthDegrees(int precision) {
+        return 360 / Math.pow(2, (5 * precision + 1) / 2);
+    }
+
+    /**
+     * Distance from the point to the nearest point of the cell
+     */
+    private static double minDistanceMeters(String cell, double latitude, double longitude) {
+        double[] box = bounds(cell);
+        double lat = Math.max(box[0], Math.min(box[1], latitude));
+        double lon = Math.max(box[2], Math.min(box[3], longitude));
+        return distanceMeters(latitude, longitude, lat, lon);
+    }
+
+    /**
+     * Cell bounds as {minLat, maxLat, minLon, maxLon}
+     */
+    static double[] bounds(String cell) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        boolean lonBit = true;
+        for (int i = 0; i < cell.length(); i++) {
+            int value = BASE32.indexOf(cell.charAt(i));
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((value >> bit) & 1) == 1;
+                if (lonBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                lonBit = !lonBit;
+            }
+        }
+        return new double[] {minLat, maxLat, minLon, maxLon};
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
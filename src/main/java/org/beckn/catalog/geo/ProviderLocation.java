@@ -0,0 +1,40 @@
+package org.beckn.catalog.geo;
+
+/**
+ * A Beckn provider location ({@code providers[].locations[]}) with its geohash
+ *
+ * @param providerId Beckn provider ID
+ * @param locationId locations[].id, referenced by items through location_id / location_ids
+ * @param latitude Latitude in degrees
+ * @param longitude Longitude in degrees
+ * @param geohash Geohash at {@link GeoHash#STORED_PRECISION}
+ */
+public record ProviderLocation(String providerId, String locationId, double latitude, double longitude,
+                               String geohash) {
+
+    /**
+     * Location from a Beckn {@code gps} value ("lat,lng")
+     *
+     * @return The location, or null when the id is empty or gps is missing or out of range
+     */
+    public static ProviderLocation of(String providerId, String locationId, String gps) {
+        if (locationId == null || locationId.isEmpty() || gps == null) {
+            return null;
+        }
+        int comma = gps.indexOf(',');
+        if (comma < 0) {
+            return null;
+        }
+        try {
+            double latitude = Double.parseDouble(gps.substring(0, comma).trim());
+            double longitude = Double.parseDouble(gps.substring(comma + 1).trim());
+            if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+                return null;
+            }
+            return new ProviderLocation(providerId, locationId, latitude, longitude,
+                    GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.beckn.catalog.messaging.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.metrics.PipelineMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts listener parallelism at runtime based on backpressure signals.
+ *
+ * Signals: Hikari connection acquire time and pending threads, persist stage latency and
+ * consumer records lag. Under pressure parallelism is halved; with lag and headroom it grows
+ * again by one consumer (AIMD), always within the configured bounds.
+ *
+ * Parallelism is applied by pausing/resuming child consumers of the listener container, which
+ * keeps their partitions assigned (no rebalance) while they stop fetching. The listener
+ * concurrency must therefore be configured at the upper bound. A consumer is paused for at most
+ * {@code max-pause} at a time: it is then resumed in place of the longest running one, so the
+ * partitions of every consumer keep making progress under sustained backpressure.
+ *
+ * The poll size is not adapted: a Kafka consumer cannot change max.poll.records while running,
+ * and listener containers create their consumer once, so only a restart would apply it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.adaptive.enabled", havingValue = "true")
+public class AdaptiveConsumptionController {
+
+    private static final String HIKARI_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final String HIKARI_PENDING_GAUGE = "hikaricp.connections.pending";
+    private static final String CONSUMER_LAG_GAUGE = "kafka.consumer.fetch.manager.records.lag.max";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.adaptive.min-parallelism:1}")
+    private int minParallelism;
+
+    @Value("${catalog.adaptive.max-parallelism:${spring.kafka.listener.concurrency:1}}")
+    private int maxParallelism;
+
+    @Value("${catalog.adaptive.pool-wait-high-ms:50}")
+    private double poolWaitHighMs;
+
+    @Value("${catalog.adaptive.persist-latency-high-ms:5000}")
+    private double persistLatencyHighMs;
+
+    @Value("${catalog.adaptive.lag-high:1000}")
+    private double lagHigh;
+
+    @Value("${catalog.adaptive.max-pause:PT60S}")
+    private Duration maxPause;
+
+    /** Only the ingestion (primary) pool is a backpressure signal when a replica pool exists */
+    @Value("${spring.datasource.hikari.pool-name:}")
+    private String primaryPoolName;
+
+    private int parallelism = -1;
+
+    private final TimerWindow poolWait = new TimerWindow();
+    private final TimerWindow persistLatency = new TimerWindow();
+
+    /** Since when each child consumer has been paused or running, by listener id */
+    private final Map<String, Long> stateSince = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${catalog.adaptive.interval-ms:10000}",
+               initialDelayString = "${catalog.adaptive.interval-ms:10000}")
+    public void adjust() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(EventListener.LISTENER_ID);
+        if (!(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) || !container.isRunning()) {
+            return;
+        }
+
+        List<? extends KafkaMessageListenerContainer<?, ?>> children = concurrent.getContainers();
+        int upperParallelism = Math.max(minParallelism, Math.min(maxParallelism, children.size()));
+        if (parallelism < 0) {
+            parallelism = upperParallelism;
+        }
+
+        Signals signals = new Signals(
+                poolWait.meanMs(primaryPool(HIKARI_ACQUIRE_TIMER).timer()),
+                gaugeMax(primaryPool(HIKARI_PENDING_GAUGE)),
+                persistLatency.meanMs(meterRegistry.find(PipelineMetrics.STAGE_TIMER)
+                        .tag("stage", PipelineMetrics.STAGE_PERSIST).timer()),
+                gaugeMax(meterRegistry.find(CONSUMER_LAG_GAUGE)));
+        Target target = target(signals, upperParallelism);
+
+        if (target.parallelism() != parallelism) {
+            log.info("Adaptive consumption ({}): parallelism {} -> {} {}",
+                    target.reason(), parallelism, target.parallelism(), signals);
+        } else {
+            log.debug("Adaptive consumption unchanged: parallelism={} {}", parallelism, signals);
+        }
+        parallelism = target.parallelism();
+        applyParallelism(children, System.currentTimeMillis());
+    }
+
+    /**
+     * Next parallelism: halved under backpressure, grown while lagging with headroom
+     */
+    Target target(Signals signals, int upperParallelism) {
+        if (signals.poolWaitMs() > poolWaitHighMs || signals.persistMs() > persistLatencyHighMs) {
+            return new Target(Math.max(minParallelism, parallelism / 2), "backpressure");
+        }
+        if (signals.lag() > lagHigh && signals.pending() == 0 && signals.poolWaitMs() < poolWaitHighMs / 2) {
+            return new Target(Math.min(upperParallelism, parallelism + 1), "lag with headroom");
+        }
+        return new Target(parallelism, null);
+    }
+
+    /**
+     * Run {@code parallelism} child consumers and pause the rest
+     */
+    private void applyParallelism(List<? extends KafkaMessageListenerContainer<?, ?>> children, long now) {
+        List<ChildState> states = new ArrayList<>(children.size());
+        for (KafkaMessageListenerContainer<?, ?> child : children) {
+            boolean paused = child.isPauseRequested();
+            long since = stateSince.computeIfAbsent(child.getListenerId(), id -> now);
+            states.add(new ChildState(paused, since));
+        }
+
+        Set<Integer> running = selectRunning(states, parallelism, now, maxPause.toMillis());
+        for (int i = 0; i < children.size(); i++) {
+            KafkaMessageListenerContainer<?, ?> child = children.get(i);
+            if (running.contains(i)) {
+                if (child.isPauseRequested()) {
+                    child.resume();
+                    stateSince.put(child.getListenerId(), now);
+                    log.info("Resumed consumer {} (partitions: {})", child.getListenerId(), child.getAssignedPartitions());
+                }
+            } else if (!child.isPauseRequested()) {
+                child.pause();
+                stateSince.put(child.getListenerId(), now);
+                log.info("Paused consumer {} (partitions: {})", child.getListenerId(), child.getAssignedPartitions());
+            }
+        }
+    }
+
+    /**
+     * Indexes of the children to run: those paused for at least maxPauseMs first (longest paused
+     * first), then running ones (most recently resumed first), then the other paused ones
+     */
+    static Set<Integer> selectRunning(List<ChildState> children, int parallelism, long now, long maxPauseMs) {
+        List<Integer> order = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingInt(i -> rank(children.get(i), now, maxPauseMs))
+                .thenComparingLong(i -> {
+                    ChildState child = children.get(i);
+                    return child.paused() ? child.since() : -child.since();
+                }));
+        return new HashSet<>(order.subList(0, Math.min(parallelism, order.size())));
+    }
+
+    private static int rank(ChildState child, long now, long maxPauseMs) {
+        if (!child.paused()) {
+            return 1;
+        }
+        return now - child.since() >= maxPauseMs ? 0 : 2;
+    }
+
+    private Search primaryPool(String name) {
+        Search search = meterRegistry.find(name);
+        return primaryPoolName.isEmpty() ? search : search.tag("pool", primaryPoolName);
+    }
+
+    private static double gaugeMax(Search search) {
+        return search.gauges().stream()
+                .mapToDouble(Gauge::value)
+                .filter(v -> !Double.isNaN(v))
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * Backpressure signals of one interval
+     */
+    record Signals(double poolWaitMs, double pending, double persistMs, double lag) {
+
+        @Override
+        public String toString() {
+            return String.format("[poolWaitMs=%.1f, pending=%.0f, persistMs=%.1f, lag=%.0f]",
+                    poolWaitMs, pending, persistMs, lag);
+        }
+    }
+
+    /**
+     * Parallelism to apply, and why it changed (null when unchanged)
+     */
+    record Target(int parallelism, String reason) {
+    }
+
+    /**
+     * Whether a child consumer is paused, and since when it has been paused or running
+     */
+    record ChildState(boolean paused, long since) {
+    }
+
+    /**
+     * Mean timer latency since the previous sample
+     */
+    private static final class TimerWindow {
+        private long lastCount;
+        private double lastTotalMs;
+
+        double meanMs(Timer timer) {
+            if (timer == null) {
+                return 0;
+            }
+            long count = timer.count();
+            double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+            long deltaCount = count - lastCount;
+            double deltaMs = totalMs - lastTotalMs;
+            lastCount = count;
+            lastTotalMs = totalMs;
+            return deltaCount > 0 ? deltaMs / deltaCount : 0;
+        }
+    }
+}
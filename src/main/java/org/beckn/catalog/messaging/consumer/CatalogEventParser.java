@@ -0,0 +1,144 @@
+package org.beckn.catalog.messaging.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.service.BecknCatalogScanner;
+import org.beckn.catalog.service.BecknContext;
+import org.beckn.catalog.validation.BecknSchemaValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Parsing and validation of incoming Beckn catalog events, shared by the listener and reactive engines
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogEventParser {
+
+    private final ObjectMapper objectMapper;
+    private final BecknSchemaValidator schemaValidator;
+    private final BecknCatalogScanner catalogScanner;
+
+    @Value("${catalog.validation.enabled:true}")
+    private boolean schemaValidationEnabled;
+
+    @Value("${catalog.processing.raw-json:true}")
+    private boolean rawJsonEnabled;
+
+    @PostConstruct
+    public void logValidationMode() {
+        if (rawJsonEnabled && schemaValidationEnabled) {
+            log.info("Raw JSON processing with schema validation: events are parsed for validation, "
+                    + "items are still scanned from their source text");
+        }
+    }
+
+    /**
+     * Read the Beckn context block only; malformed events yield an empty context and fail validation later
+     */
+    public BecknContext readContext(String eventJson) {
+        try {
+            return catalogScanner.readContext(eventJson);
+        } catch (Exception e) {
+            log.debug("Could not read Beckn context: {}", e.getMessage());
+            return BecknContext.EMPTY;
+        }
+    }
+
+    /**
+     * Parse the event and validate it: required Beckn structure first, then the JSON Schema
+     * selected by context.domain/core_version.
+     *
+     * Schema validation takes precedence over raw JSON processing: the event is parsed and
+     * validated, but the tree is not handed on, as items are scanned from the source text. Only
+     * with raw JSON and validation disabled is nothing done here; the item scan then checks the
+     * required structure in its single pass over the event.
+     *
+     * @return The parsed event, or null with raw JSON processing
+     * @throws IllegalArgumentException If the event is not valid JSON, lacks the required
+     *                                  structure or violates its schema
+     */
+    public JsonNode parseAndValidate(String eventJson) {
+        if (rawJsonEnabled && !schemaValidationEnabled) {
+            return null;
+        }
+
+        JsonNode rootNode;
+        try {
+            rootNode = objectMapper.readTree(eventJson);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid Beckn catalog event - not valid JSON: " + e.getMessage(), e);
+        }
+
+        if (!isValidBecknCatalogEvent(rootNode)) {
+            throw new IllegalArgumentException("Invalid Beckn catalog event format - missing required fields");
+        }
+
+        if (schemaValidationEnabled) {
+            List<String> errors = schemaValidator.validate(rootNode);
+            if (!errors.isEmpty()) {
+                throw new IllegalArgumentException("Beckn catalog event failed schema validation: "
+                        + String.join("; ", errors));
+            }
+        }
+        return rawJsonEnabled ? null : rootNode;
+    }
+
+    /**
+     * Validate that this is a proper Beckn catalog event with required structure
+     */
+    private boolean isValidBecknCatalogEvent(JsonNode rootNode) {
+        // Check for required top-level fields
+        if (!rootNode.has("context") || !rootNode.has("message")) {
+            log.debug("Missing required top-level fields: context or message");
+            return false;
+        }
+
+        // Check context structure
+        var contextNode = rootNode.path("context");
+        if (!contextNode.has("domain") || !contextNode.has("action")) {
+            log.debug("Missing required context fields: domain or action");
+            return false;
+        }
+
+        // Check message structure for catalog events
+        var messageNode = rootNode.path("message");
+        if (!messageNode.has("catalog")) {
+            log.debug("Missing catalog in message - not a catalog event");
+            return false;
+        }
+
+        // Check if catalog has providers
+        var catalogNode = messageNode.path("catalog");
+        if (!catalogNode.has("providers")) {
+            log.debug("Missing providers in catalog");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Extract provider ID from Beckn event for error reporting
+     */
+    public String extractProviderId(String eventJson) {
+        try {
+            var rootNode = objectMapper.readTree(eventJson);
+            var providersNode = rootNode.path("message").path("catalog").path("providers");
+
+            if (providersNode.isArray() && providersNode.size() > 0) {
+                return providersNode.get(0).path("id").asText("unknown");
+            }
+            return "unknown";
+        } catch (Exception e) {
+            log.debug("Could not extract provider ID from event: {}", e.getMessage());
+            return "unknown";
+        }
+    }
+}
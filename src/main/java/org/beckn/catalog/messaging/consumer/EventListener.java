@@ -1,93 +1,119 @@
 package org.beckn.catalog.messaging.consumer;
 
+import org.beckn.catalog.analytics.ProviderLoadTracker;
+import org.beckn.catalog.claimcheck.ClaimCheckService;
 import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.metrics.PipelineMetrics;
+import org.beckn.catalog.scheduling.ProviderFairScheduler;
 import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.dedup.DuplicateMessageFilter;
+import org.beckn.catalog.service.BecknContext;
 import org.beckn.catalog.service.CatalogItemService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import org.beckn.catalog.messaging.producer.EventProducer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@Profile("!reactive & !streams")
 public class EventListener {
+    public static final String LISTENER_ID = "catalogEventListener";
+
     private final EventProducer producer;
     private final CatalogItemService catalogItemService;
     private final CatalogEventProducer catalogEventProducer;
-    private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+    private final ObjectProvider<ProviderFairScheduler> fairScheduler;
+    private final ClaimCheckService claimCheckService;
+    private final CatalogEventParser eventParser;
+    private final ObjectProvider<DuplicateMessageFilter> duplicateMessageFilter;
+    private final InFlightRecordTracker inFlightTracker;
+    private final ObjectProvider<ProviderLoadTracker> providerLoadTracker;
 
     @Value("${spring.kafka.listener.concurrency:1}")
     private String configuredConcurrency;
 
     @KafkaListener(
+        id = LISTENER_ID,
+        idIsGroup = false,
         topics = "${topics.input}",
         containerFactory = "kafkaListenerContainerFactory",
         concurrency = "${spring.kafka.listener.concurrency:1}"
     )
     public void listen(ConsumerRecord<String, String> record, Acknowledgment ack) {
         log.info("Using configured concurrency: {}", configuredConcurrency);
-        String value = record.value();
         log.info("Received native Beckn catalog event for processing");
+
+        // Track until acknowledged so a rebalance can drain this record before handing its partition over
+        ack = inFlightTracker.track(record, ack);
         
         String providerId = null;
         try {
-            // Validate that this is a Beckn catalog event
-            if (!isValidBecknCatalogEvent(value)) {
-                throw new IllegalArgumentException("Invalid Beckn catalog event format - missing required fields");
+            // Dereference claim-checked payloads; failures keep routing the (small) original record
+            String value = claimCheckService.resolve(record.value(), record.headers());
+
+            // Drop redeliveries before parsing anything beyond the context block
+            BecknContext context = eventParser.readContext(value);
+            DuplicateMessageFilter duplicateFilter = duplicateMessageFilter.getIfAvailable();
+            if (duplicateFilter != null && duplicateFilter.isDuplicate(context)) {
+                log.info("Dropping duplicate Beckn message {} from {}", context.messageId(), context.bppId());
+                ack.acknowledge();
+                return;
+            }
+
+            // Parse once: the tree is shared by validation and item extraction, and with raw JSON
+            // processing no tree is built and the item scan checks the required structure
+            JsonNode event = pipelineMetrics.time(PipelineMetrics.STAGE_VALIDATE, () -> eventParser.parseAndValidate(value));
+
+            // Hand off to the provider fair scheduler; the offset is acknowledged once all chunks finish
+            ProviderFairScheduler scheduler = fairScheduler.getIfAvailable();
+            if (scheduler != null) {
+                processScheduled(scheduler, record, value, event, context, ack);
+                return;
             }
             
             // Process Beckn catalog event and store items to PostgreSQL
-            List<CatalogItem> storedItems = catalogItemService.processBecknCatalogEvent(value);
+            List<CatalogItem> storedItems = pipelineMetrics.time(PipelineMetrics.STAGE_PERSIST,
+                    () -> catalogItemService.processBecknCatalogEvent(value, event, context));
             
             if (!storedItems.isEmpty()) {
                 // Extract provider ID from the first item
-                providerId = storedItems.get(0).getProviderId();
+                String storedProviderId = storedItems.get(0).getProviderId();
+                providerId = storedProviderId;
 
                 // Publish success event with full item data
-                catalogEventProducer.publishItemsStoredEvent(providerId, storedItems);
+                pipelineMetrics.record(PipelineMetrics.STAGE_PUBLISH,
+                        () -> catalogEventProducer.publishItemsStoredEvent(storedProviderId, storedItems));
                 
                 log.info("Successfully processed and stored {} items for provider: {}", 
                         storedItems.size(), providerId);
             } else {
                 log.warn("No items were extracted from Beckn catalog event");
             }
+
+            if (duplicateFilter != null) {
+                duplicateFilter.markProcessed(context);
+            }
             
             // Commit offset only after successful processing
             ack.acknowledge();
             
         } catch (Exception e) {
-            log.error("Error processing native Beckn catalog event: {}", e.getMessage(), e);
-            
-            // Try to extract provider ID for error event
-            if (providerId == null) {
-                try {
-                    providerId = extractProviderIdFromEvent(value);
-                } catch (Exception ex) {
-                    providerId = "unknown";
-                }
-            }
-            
-            // Publish error event
-            catalogEventProducer.publishCatalogProcessingErrorEvent(providerId, e.getMessage(), value);
-            
-            // Send to DLT with error metadata
-            producer.sendToDlt(
-                record.key(),
-                value,
-                record.topic(),
-                record.partition(),
-                record.offset(),
-                e.getMessage(),
-                e.getClass().getName()
-            );
+            handleFailure(record, providerId, e);
             
             // Still acknowledge since we handled the error
             ack.acknowledge();
@@ -95,61 +121,106 @@ public class EventListener {
     }
 
     /**
-     * Validate that this is a proper Beckn catalog event with required structure
+     * Split the event per provider and schedule chunked store + publish work fairly across providers.
+     * Acknowledgment happens asynchronously (the container commits out-of-order acks in offset order).
+     * A failing chunk only sends its own items to the DLT: the record is applied at least once per
+     * item, never rolled back as a whole.
      */
-    private boolean isValidBecknCatalogEvent(String eventJson) {
-        try {
-            var rootNode = objectMapper.readTree(eventJson);
-            
-            // Check for required top-level fields
-            if (!rootNode.has("context") || !rootNode.has("message")) {
-                log.debug("Missing required top-level fields: context or message");
-                return false;
+    private void processScheduled(ProviderFairScheduler scheduler, ConsumerRecord<String, String> record,
+                                  String value, JsonNode event, BecknContext context,
+                                  Acknowledgment ack) throws InterruptedException {
+        List<CatalogItemService.ProviderItems> providers = catalogItemService.splitByProvider(value, event, context);
+        catalogItemService.storeProviderLocations(providers);
+        ProviderLoadTracker loadTracker = providerLoadTracker.getIfAvailable();
+        if (loadTracker != null) {
+            int eventItems = providers.stream().mapToInt(provider -> provider.items().size()).sum();
+            for (CatalogItemService.ProviderItems provider : providers) {
+                loadTracker.recordEvent(provider.providerId(), provider.items(), value.length(), eventItems);
             }
-            
-            // Check context structure
-            var contextNode = rootNode.path("context");
-            if (!contextNode.has("domain") || !contextNode.has("action")) {
-                log.debug("Missing required context fields: domain or action");
-                return false;
-            }
-            
-            // Check message structure for catalog events
-            var messageNode = rootNode.path("message");
-            if (!messageNode.has("catalog")) {
-                log.debug("Missing catalog in message - not a catalog event");
-                return false;
+        }
+        List<CompletableFuture<List<Integer>>> futures = new ArrayList<>();
+        for (CatalogItemService.ProviderItems provider : providers) {
+            futures.add(scheduler.submitChunked(provider.providerId(), provider.items(),
+                    chunk -> storeAndPublish(value, provider.providerId(), chunk)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, ex) -> {
+                if (ex == null) {
+                    int stored = futures.stream()
+                            .flatMap(future -> future.join().stream())
+                            .mapToInt(Integer::intValue)
+                            .sum();
+                    log.info("Successfully processed and stored {} items from {} providers (offset {})",
+                            stored, providers.size(), record.offset());
+                    DuplicateMessageFilter duplicateFilter = duplicateMessageFilter.getIfAvailable();
+                    if (duplicateFilter != null) {
+                        duplicateFilter.markProcessed(context);
+                    }
+                } else {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    handleFailure(record, null, cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+                }
+                ack.acknowledge();
+            });
+    }
+
+    /**
+     * Store one chunk of a provider's items and publish their item events. A failed chunk is
+     * reported and its items are sent to the DLT; chunks already applied stay applied. The store
+     * time, without publishing, counts as the provider's processing time.
+     */
+    private int storeAndPublish(String value, String providerId, List<CatalogItem> chunk) {
+        try {
+            long start = System.nanoTime();
+            List<CatalogItem> storedItems = pipelineMetrics.time(PipelineMetrics.STAGE_PERSIST,
+                    () -> catalogItemService.processProviderItems(providerId, chunk));
+            ProviderLoadTracker loadTracker = providerLoadTracker.getIfAvailable();
+            if (loadTracker != null) {
+                loadTracker.recordProcessingTime(providerId, System.nanoTime() - start);
             }
-            
-            // Check if catalog has providers
-            var catalogNode = messageNode.path("catalog");
-            if (!catalogNode.has("providers")) {
-                log.debug("Missing providers in catalog");
-                return false;
+            if (!storedItems.isEmpty()) {
+                pipelineMetrics.record(PipelineMetrics.STAGE_PUBLISH,
+                        () -> catalogEventProducer.publishItemsStoredEvent(providerId, storedItems));
             }
-            
-            return true;
+            return storedItems.size();
         } catch (Exception e) {
-            log.debug("Failed to parse JSON for validation: {}", e.getMessage());
-            return false;
+            log.error("Error processing a chunk of {} items for provider {}: {}",
+                    chunk.size(), providerId, e.getMessage(), e);
+            catalogEventProducer.publishCatalogProcessingErrorEvent(providerId, e.getMessage(), value);
+            catalogItemService.sendItemsToDlt(providerId, chunk, e);
+            return 0;
         }
     }
 
     /**
-     * Extract provider ID from Beckn event for error reporting
+     * Publish the processing error event and route the original record to the DLT
      */
-    private String extractProviderIdFromEvent(String eventJson) {
-        try {
-            var rootNode = objectMapper.readTree(eventJson);
-            var providersNode = rootNode.path("message").path("catalog").path("providers");
-            
-            if (providersNode.isArray() && providersNode.size() > 0) {
-                return providersNode.get(0).path("id").asText("unknown");
+    private void handleFailure(ConsumerRecord<String, String> record, String providerId, Exception e) {
+        String value = record.value();
+        log.error("Error processing native Beckn catalog event: {}", e.getMessage(), e);
+        
+        // Try to extract provider ID for error event
+        if (providerId == null) {
+            try {
+                providerId = eventParser.extractProviderId(value);
+            } catch (Exception ex) {
+                providerId = "unknown";
             }
-            return "unknown";
-        } catch (Exception e) {
-            log.debug("Could not extract provider ID from event: {}", e.getMessage());
-            return "unknown";
         }
+        
+        // Publish error event
+        catalogEventProducer.publishCatalogProcessingErrorEvent(providerId, e.getMessage(), value);
+        
+        // Send to DLT with error metadata
+        producer.sendToDlt(
+            record.key(),
+            value,
+            record.topic(),
+            record.partition(),
+            record.offset(),
+            e.getMessage(),
+            e.getClass().getName()
+        );
     }
 }
@@ -0,0 +1,160 @@
+package org.beckn.catalog.messaging.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks records that are still being processed so revoked partitions can be handed over cleanly.
+ *
+ * When partitions are revoked the tracker waits (up to {@code catalog.consumer.drain-timeout}) for
+ * their in-flight records, then commits the highest contiguous processed offset synchronously.
+ * Records still running after the timeout stay uncommitted and are redelivered to the new owner.
+ * Lost partitions are dropped without committing.
+ */
+@Slf4j
+@Component
+public class InFlightRecordTracker implements ConsumerAwareRebalanceListener {
+
+    private final Map<TopicPartition, PartitionProgress> partitions = new ConcurrentHashMap<>();
+    private final Duration drainTimeout;
+
+    public InFlightRecordTracker(@Value("${catalog.consumer.drain-timeout:PT20S}") Duration drainTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.drainTimeout = drainTimeout;
+        Gauge.builder("catalog.consumer.in.flight.records", this, InFlightRecordTracker::inFlightCount)
+                .description("Records received but not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start tracking a record
+     *
+     * @return Acknowledgment that also marks the record as processed
+     */
+    public Acknowledgment track(ConsumerRecord<?, ?> record, Acknowledgment ack) {
+        PartitionProgress progress = partitions.computeIfAbsent(
+                new TopicPartition(record.topic(), record.partition()), tp -> new PartitionProgress());
+        CompletableFuture<Void> done = progress.begin(record.offset());
+        return () -> {
+            ack.acknowledge();
+            progress.complete(record.offset(), done);
+        };
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        // Cooperative rebalances usually revoke nothing from this member
+        Map<TopicPartition, PartitionProgress> handedOver = new HashMap<>();
+        for (TopicPartition partition : revoked) {
+            PartitionProgress progress = partitions.remove(partition);
+            if (progress != null) {
+                handedOver.put(partition, progress);
+            }
+        }
+        if (handedOver.isEmpty()) {
+            return;
+        }
+
+        drain(handedOver);
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        handedOver.forEach((partition, progress) -> {
+            long offset = progress.committableOffset();
+            if (offset >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        });
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.commitSync(offsets, drainTimeout);
+            log.info("Committed processed offsets before handing over partitions: {}", offsets);
+        } catch (Exception e) {
+            log.warn("Failed to commit offsets for revoked partitions {}: {}", offsets.keySet(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        // Already owned by another member; committing now would fail or overwrite its progress
+        lost.forEach(partitions::remove);
+        log.warn("Partitions lost without revocation, in-flight records will be redelivered: {}", lost);
+    }
+
+    private void drain(Map<TopicPartition, PartitionProgress> handedOver) {
+        CompletableFuture<?>[] pending = handedOver.values().stream()
+                .flatMap(progress -> progress.inFlight.values().stream())
+                .toArray(CompletableFuture[]::new);
+        if (pending.length == 0) {
+            return;
+        }
+
+        log.info("Draining {} in-flight records of revoked partitions {}", pending.length, handedOver.keySet());
+        try {
+            CompletableFuture.allOf(pending).get(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            long remaining = handedOver.values().stream().mapToLong(progress -> progress.inFlight.size()).sum();
+            log.warn("{} records still in flight after {}; committing up to the oldest and handing over",
+                    remaining, drainTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Error while draining in-flight records: {}", e.getMessage());
+        }
+    }
+
+    private double inFlightCount() {
+        return partitions.values().stream().mapToLong(progress -> progress.inFlight.size()).sum();
+    }
+
+    /**
+     * In-flight offsets of one partition for the current assignment
+     */
+    private static final class PartitionProgress {
+
+        private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> inFlight = new ConcurrentSkipListMap<>();
+        private final AtomicLong nextOffset = new AtomicLong(-1);
+
+        CompletableFuture<Void> begin(long offset) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            inFlight.put(offset, done);
+            return done;
+        }
+
+        void complete(long offset, CompletableFuture<Void> done) {
+            // Advance before removing so a concurrent reader never sees an empty map with a stale offset
+            nextOffset.accumulateAndGet(offset + 1, Math::max);
+            inFlight.remove(offset, done);
+            done.complete(null);
+        }
+
+        /**
+         * The oldest unfinished offset, or one past the newest finished one; -1 if nothing finished
+         */
+        long committableOffset() {
+            Map.Entry<Long, CompletableFuture<Void>> oldest = inFlight.firstEntry();
+            return oldest != null ? oldest.getKey() : nextOffset.get();
+        }
+    }
+}
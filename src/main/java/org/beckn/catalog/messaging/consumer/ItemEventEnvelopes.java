@@ -0,0 +1,67 @@
+package org.beckn.catalog.messaging.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.beckn.catalog.messaging.producer.ItemEventWriter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumer-side unpacking of item events read from the output topics.
+ *
+ * A {@code catalog_items_stored} envelope is expanded into one {@code catalog_item_stored} event
+ * per item, carrying the envelope's metadata and an {@code event_id} of
+ * {@code <envelope event_id>/<index>}; per-item events are returned unchanged. Consumers can
+ * therefore handle both publishing modes the same way.
+ */
+public final class ItemEventEnvelopes {
+
+    private static final List<String> SHARED_FIELDS = List.of("timestamp", "source", "version");
+
+    private ItemEventEnvelopes() {
+    }
+
+    /**
+     * Whether a parsed output event is a multi-item envelope
+     */
+    public static boolean isEnvelope(JsonNode event) {
+        return ItemEventWriter.ENVELOPE_EVENT_TYPE.equals(event.path("event_type").asText());
+    }
+
+    /**
+     * Parse an output record value into per-item events
+     */
+    public static List<ObjectNode> unpack(ObjectMapper objectMapper, String recordValue) throws JsonProcessingException {
+        JsonNode event = objectMapper.readTree(recordValue);
+        if (!(event instanceof ObjectNode objectEvent)) {
+            throw new IllegalArgumentException("Item event is not a JSON object");
+        }
+        if (!isEnvelope(event)) {
+            return List.of(objectEvent);
+        }
+
+        JsonNode items = event.path("items");
+        String envelopeId = event.path("event_id").asText();
+        List<ObjectNode> events = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            ObjectNode itemEvent = objectMapper.createObjectNode();
+            itemEvent.put("event_type", ItemEventWriter.EVENT_TYPE);
+            itemEvent.put("event_id", envelopeId + "/" + index);
+            for (String field : SHARED_FIELDS) {
+                itemEvent.set(field, event.get(field));
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = items.get(index).fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                itemEvent.set(field.getKey(), field.getValue());
+            }
+            events.add(itemEvent);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,258 @@
+package org.beckn.catalog.messaging.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.beckn.catalog.analytics.ProviderLoadTracker;
+import org.beckn.catalog.claimcheck.ClaimCheckService;
+import org.beckn.catalog.dedup.DuplicateMessageFilter;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.messaging.producer.EventProducer;
+import org.beckn.catalog.metrics.PipelineMetrics;
+import org.beckn.catalog.repository.ReactiveCatalogItemRepository;
+import org.beckn.catalog.service.BecknContext;
+import org.beckn.catalog.service.CatalogItemService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking alternative to {@link EventListener} (profile {@code reactive}) on reactor-kafka and R2DBC.
+ *
+ * Records are grouped by partition; each partition is processed strictly in offset order while
+ * partitions proceed concurrently, and a partition's group completes when it is revoked. A record
+ * runs parse, upsert and publish and its offset is acknowledged only after every output record
+ * (or its DLT routing) has been confirmed by the broker. Demand flows back to the consumer, which
+ * pauses fetching while downstream is busy.
+ *
+ * Parsing, the duplicate store and claim-check blobs run on the bounded elastic scheduler; item
+ * upserts are issued per chunk of {@code catalog.processing.batch-size} items and auto-committed.
+ * Provider locations, item location links and tags are shared with the listener engine and written
+ * over JDBC on the bounded elastic scheduler after each chunk's upsert.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveIngestionEngine implements SmartLifecycle {
+
+    private final KafkaReceiver<String, String> kafkaReceiver;
+    private final KafkaSender<String, String> kafkaSender;
+    private final ReactiveCatalogItemRepository reactiveCatalogItemRepository;
+    private final CatalogItemService catalogItemService;
+    private final CatalogEventProducer catalogEventProducer;
+    private final EventProducer eventProducer;
+    private final CatalogEventParser eventParser;
+    private final ClaimCheckService claimCheckService;
+    private final ObjectProvider<DuplicateMessageFilter> duplicateMessageFilter;
+    private final ObjectProvider<ProviderLoadTracker> providerLoadTracker;
+    private final Sinks.Many<TopicPartition> revokedPartitions;
+    private final PipelineMetrics pipelineMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.processing.batch-size:100}")
+    private int batchSize;
+
+    @Value("${catalog.reactive.max-partitions:256}")
+    private int maxPartitions;
+
+    @Value("${catalog.reactive.prefetch:256}")
+    private int prefetch;
+
+    private Counter staleSkipped;
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        staleSkipped = meterRegistry.counter("catalog.items.stale.skipped");
+        subscription = kafkaReceiver.receive()
+                // One sequential lane per partition; must cover all partitions assigned at once.
+                // A lane ends when its partition is revoked; its unacknowledged records are redelivered.
+                .groupBy(record -> record.receiverOffset().topicPartition(), prefetch)
+                .flatMap(partition -> partition
+                        .takeUntilOther(revokedPartitions.asFlux().filter(partition.key()::equals))
+                        .concatMap(this::process), maxPartitions)
+                .doOnError(e -> log.error("Reactive ingestion stopped, resuming from committed offsets: {}",
+                        e.getMessage(), e))
+                // Re-subscribing creates a new consumer; unacknowledged records are redelivered
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+        log.info("Reactive ingestion engine started");
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+        log.info("Reactive ingestion engine stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    /**
+     * Process one record and acknowledge it once all its output is confirmed. Only a failure to
+     * publish the DLT record itself propagates, restarting the stream without the acknowledgement.
+     */
+    private Mono<Void> process(ReceiverRecord<String, String> record) {
+        return Mono.fromCallable(() -> prepare(record))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(prepared -> prepared.duplicate()
+                        ? Mono.<Void>fromRunnable(() -> log.info("Dropping duplicate Beckn message {} from {}",
+                                prepared.context().messageId(), prepared.context().bppId()))
+                        : storeAndPublish(record, prepared))
+                .onErrorResume(e -> handleFailure(record, e))
+                .then(Mono.fromRunnable(() -> record.receiverOffset().acknowledge()));
+    }
+
+    /**
+     * Resolve, deduplicate, parse and split the record into provider item batches, storing the
+     * providers' locations
+     */
+    private Prepared prepare(ReceiverRecord<String, String> record) {
+        String value = claimCheckService.resolve(record.value(), record.headers());
+        BecknContext context = eventParser.readContext(value);
+        DuplicateMessageFilter duplicateFilter = duplicateMessageFilter.getIfAvailable();
+        if (duplicateFilter != null && duplicateFilter.isDuplicate(context)) {
+            return new Prepared(context, List.of(), true);
+        }
+
+        JsonNode event = pipelineMetrics.time(PipelineMetrics.STAGE_VALIDATE, () -> eventParser.parseAndValidate(value));
+        List<CatalogItemService.ProviderItems> providers = catalogItemService.splitByProvider(value, event, context);
+        catalogItemService.storeProviderLocations(providers);
+        ProviderLoadTracker loadTracker = providerLoadTracker.getIfAvailable();
+        if (loadTracker != null) {
+            int eventItems = providers.stream().mapToInt(provider -> provider.items().size()).sum();
+            for (CatalogItemService.ProviderItems provider : providers) {
+                loadTracker.recordEvent(provider.providerId(), provider.items(), value.length(), eventItems);
+            }
+        }
+        return new Prepared(context, providers, false);
+    }
+
+    /**
+     * Upsert each provider's items chunk by chunk and publish the stored items of every chunk
+     */
+    private Mono<Void> storeAndPublish(ReceiverRecord<String, String> record, Prepared prepared) {
+        return Flux.fromIterable(prepared.providers())
+                .concatMap(provider -> Flux.fromIterable(chunks(provider.items()))
+                        .concatMap(chunk -> persist(provider.providerId(), chunk)
+                                .flatMap(stored -> timed(PipelineMetrics.STAGE_PUBLISH,
+                                        Mono.fromCallable(() -> catalogEventProducer.itemRecords(
+                                                provider.providerId(), stored))
+                                                .flatMap(this::send))
+                                        .thenReturn(stored.size()))))
+                .reduce(0, Integer::sum)
+                .flatMap(stored -> {
+                    log.info("Successfully processed and stored {} items from {} providers (offset {})",
+                            stored, prepared.providers().size(), record.offset());
+                    DuplicateMessageFilter duplicateFilter = duplicateMessageFilter.getIfAvailable();
+                    if (duplicateFilter == null) {
+                        return Mono.empty();
+                    }
+                    return Mono.<Void>fromRunnable(() -> duplicateFilter.markProcessed(prepared.context()))
+                            .subscribeOn(Schedulers.boundedElastic());
+                });
+    }
+
+    /**
+     * Upsert one chunk of a provider's items, then replace the location links and tags of the
+     * stored ones. The store time, without publishing, counts as the provider's processing time.
+     */
+    private Mono<List<CatalogItem>> persist(String providerId, List<CatalogItem> chunk) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return timed(PipelineMetrics.STAGE_PERSIST, reactiveCatalogItemRepository.upsertAll(chunk)
+                    .flatMap(result -> {
+                        staleSkipped.increment(result.stale());
+                        return Mono.fromRunnable(() -> catalogItemService.storeItemLinks(result.stored()))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(result.stored());
+                    }))
+                    .doOnNext(stored -> {
+                        ProviderLoadTracker loadTracker = providerLoadTracker.getIfAvailable();
+                        if (loadTracker != null) {
+                            loadTracker.recordProcessingTime(providerId, System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Publish the processing error event and route the original record to the DLT
+     */
+    private Mono<Void> handleFailure(ReceiverRecord<String, String> record, Throwable e) {
+        log.error("Error processing native Beckn catalog event: {}", e.getMessage(), e);
+        String value = record.value();
+        String errorMessage = String.valueOf(e.getMessage());
+        return Mono.fromCallable(() -> List.of(
+                        catalogEventProducer.errorEventRecord(eventParser.extractProviderId(value), errorMessage, value),
+                        eventProducer.dltRecord(record.key(), value, record.topic(), record.partition(),
+                                record.offset(), errorMessage, e.getClass().getName())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(this::send);
+    }
+
+    /**
+     * Send records and complete once the broker has acknowledged all of them
+     */
+    private Mono<Void> send(List<ProducerRecord<String, String>> records) {
+        if (records.isEmpty()) {
+            return Mono.empty();
+        }
+        return kafkaSender.send(Flux.fromIterable(records).map(record -> SenderRecord.create(record, record.key())))
+                .doOnNext(result -> {
+                    if (result.exception() != null) {
+                        throw Exceptions.propagate(result.exception());
+                    }
+                })
+                .then();
+    }
+
+    private <T> Mono<T> timed(String stage, Mono<T> work) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return work.doFinally(signal -> sample.stop(pipelineMetrics.stage(stage)));
+        });
+    }
+
+    private List<List<CatalogItem>> chunks(List<CatalogItem> items) {
+        List<List<CatalogItem>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            chunks.add(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private record Prepared(BecknContext context, List<CatalogItemService.ProviderItems> providers,
+                            boolean duplicate) {
+    }
+}
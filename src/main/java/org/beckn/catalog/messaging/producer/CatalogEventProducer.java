@@ -1,15 +1,21 @@
 package org.beckn.catalog.messaging.producer;
 
+import org.beckn.catalog.claimcheck.ClaimCheckService;
 import org.beckn.catalog.entity.CatalogItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,89 +29,164 @@ public class CatalogEventProducer {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final ClaimCheckService claimCheckService;
+    private final OutputTopicRouter outputTopicRouter;
+    private final ItemEventWriter itemEventWriter;
 
     @Value("${topics.output}")
     private String outputTopic;
 
+    @Value("${topics.item-state}")
+    private String itemStateTopic;
+
+    @Value("${catalog.output.envelope.enabled:false}")
+    private boolean envelopeEnabled;
+
+    @Value("${catalog.output.envelope.max-items:100}")
+    private int envelopeMaxItems;
+
+    @Value("${catalog.output.envelope.max-bytes:900000}")
+    private int envelopeMaxBytes;
+
     /**
-     * Publish individual item events when catalog items are successfully stored to PostgreSQL
-     * Each item gets its own event for downstream Elasticsearch processing
+     * Publish item events when catalog items are successfully stored to PostgreSQL
+     * Each item gets its own event (or envelope entry) for downstream Elasticsearch processing
      */
     public void publishItemsStoredEvent(String providerId, List<CatalogItem> storedItems) {
         try {
-            log.info("Publishing {} individual item events to topic: {} for provider: {}", 
-                    storedItems.size(), outputTopic, providerId);
+            log.info("Publishing {} stored items as {} to topic: {} for provider: {}",
+                    storedItems.size(), envelopeEnabled ? "envelopes" : "individual item events",
+                    storedItems.isEmpty() ? outputTopic : outputTopicRouter.topicFor(storedItems.get(0)),
+                    providerId);
             
-            // Publish each item as a separate event
-            for (CatalogItem item : storedItems) {
-                publishSingleItemEvent(item);
+            for (ProducerRecord<String, String> record : itemRecords(providerId, storedItems)) {
+                kafkaTemplate.send(record)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.debug("Successfully published item event {} to {}", record.key(), record.topic());
+                        } else {
+                            log.error("Failed to publish item event {} to {}: {}", 
+                                    record.key(), record.topic(), ex.getMessage(), ex);
+                        }
+                    });
             }
             
-            log.info("Successfully published {} individual item events for provider: {}", 
-                    storedItems.size(), providerId);
+            log.info("Successfully published {} stored items as {} for provider: {}",
+                    storedItems.size(), envelopeEnabled ? "envelopes" : "individual item events", providerId);
                     
         } catch (Exception e) {
             log.error("Error publishing item events for provider {}: {}", providerId, e.getMessage(), e);
         }
     }
+
+    /**
+     * Records announcing stored items: the item events (or envelopes) on their routed output
+     * topics, then one latest-state record per item on the compacted state topic.
+     * Items that fail to serialize are logged and left out.
+     */
+    public List<ProducerRecord<String, String>> itemRecords(String providerId, List<CatalogItem> storedItems) {
+        List<ProducerRecord<String, String>> records = new ArrayList<>(storedItems.size() * 2);
+        // All events of this batch share one event timestamp
+        String eventTimestamp = OffsetDateTime.now().toString();
+        if (envelopeEnabled) {
+            addItemEnvelopes(records, providerId, storedItems, eventTimestamp);
+        } else {
+            // Each item as a separate event
+            for (CatalogItem item : storedItems) {
+                addSingleItemEvent(records, item, eventTimestamp);
+            }
+        }
+        return records;
+    }
     
     /**
-     * Publish a single item event - original Beckn format with metadata
+     * A single item event - original Beckn format with metadata - and its item state record
      */
-    private void publishSingleItemEvent(CatalogItem item) {
+    private void addSingleItemEvent(List<ProducerRecord<String, String>> records, CatalogItem item,
+                                    String eventTimestamp) {
         try {
-            Map<String, Object> event = createSingleItemEvent(item);
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            kafkaTemplate.send(outputTopic, item.getItemId(), eventJson)
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.debug("Successfully published item event for: {}", item.getItemId());
-                    } else {
-                        log.error("Failed to publish item event for {}: {}", 
-                                item.getItemId(), ex.getMessage(), ex);
-                    }
-                });
+            String eventJson = itemEventWriter.write(item, eventTimestamp);
+
+            // Domain/city routed topic; with provider affinity all of a provider's items share a partition
+            String topic = outputTopicRouter.topicFor(item);
+            Integer partition = outputTopicRouter.partitionFor(topic, item.getProviderId());
+            records.add(new ProducerRecord<>(topic, partition, item.getItemId(), eventJson));
+            records.add(itemStateRecord(item, eventJson));
                 
         } catch (Exception e) {
             log.error("Error publishing single item event for {}: {}", item.getItemId(), e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Create single item event with original Beckn format + metadata
+     * A provider's items packed into multi-item envelopes keyed by provider ID.
+     * Envelopes never span output topics; the item state topic still gets one record per item.
      */
-    private Map<String, Object> createSingleItemEvent(CatalogItem item) {
-        Map<String, Object> event = new HashMap<>();
-        
-        // Event metadata
-        event.put("event_type", "catalog_item_stored");
-        event.put("event_id", java.util.UUID.randomUUID().toString());
-        event.put("timestamp", OffsetDateTime.now().toString());
-        event.put("source", "catalog-publish");
-        event.put("version", "2.0");
-        
-        // Item metadata
-        event.put("item_id", item.getItemId());
-        event.put("provider_id", item.getProviderId());
-        event.put("created_at", item.getCreatedAt().toString());
-        event.put("updated_at", item.getUpdatedAt().toString());
-        
-        // Original Beckn item data (let downstream job handle transformation)
-        event.put("item_data", item.getItemData());
-        
-        return event;
+    private void addItemEnvelopes(List<ProducerRecord<String, String>> records, String providerId,
+                                  List<CatalogItem> items, String eventTimestamp) {
+        Map<String, List<CatalogItem>> itemsByTopic = new LinkedHashMap<>();
+        for (CatalogItem item : items) {
+            itemsByTopic.computeIfAbsent(outputTopicRouter.topicFor(item), topic -> new ArrayList<>()).add(item);
+        }
+
+        // State records reuse each item's envelope JSON rather than serializing the item again
+        List<ProducerRecord<String, String>> stateRecords = new ArrayList<>(items.size());
+        itemsByTopic.forEach((topic, topicItems) -> {
+            Integer partition = outputTopicRouter.partitionFor(topic, providerId);
+            List<String> envelopes = itemEventWriter.writeEnvelopes(
+                    providerId, topicItems, eventTimestamp, envelopeMaxItems, envelopeMaxBytes,
+                    (item, itemJson) -> stateRecords.add(
+                            itemStateRecord(item, itemEventWriter.writeEvent(itemJson, eventTimestamp))));
+            for (String envelope : envelopes) {
+                records.add(new ProducerRecord<>(topic, partition, providerId, envelope));
+            }
+            log.debug("Packed {} items for provider {} in {} envelopes for {}",
+                    topicItems.size(), providerId, envelopes.size(), topic);
+        });
+        records.addAll(stateRecords);
+    }
+
+    /**
+     * Latest-state record on the compacted topic (same key, so compaction keeps only this one)
+     */
+    private ProducerRecord<String, String> itemStateRecord(CatalogItem item, String eventJson) {
+        return new ProducerRecord<>(itemStateTopic, item.getItemId(), eventJson);
     }
 
+    /**
+     * Publish tombstones to the compacted item state topic for deleted items
+     */
+    public void publishItemTombstones(Collection<String> itemIds) {
+        log.info("Publishing {} item tombstones to topic: {}", itemIds.size(), itemStateTopic);
+        for (String itemId : itemIds) {
+            publishItemTombstone(itemId);
+        }
+    }
+
+    /**
+     * Publish a tombstone (null value) so compaction removes the item from the state topic
+     */
+    public void publishItemTombstone(String itemId) {
+        try {
+            kafkaTemplate.send(itemStateTopic, itemId, null)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        log.debug("Successfully published tombstone for: {}", itemId);
+                    } else {
+                        log.error("Failed to publish tombstone for {}: {}", itemId, ex.getMessage(), ex);
+                    }
+                });
+        } catch (Exception e) {
+            log.error("Error publishing tombstone for {}: {}", itemId, e.getMessage(), e);
+        }
+    }
+    
     /**
      * Publish error event when catalog processing fails
      */
     public void publishCatalogProcessingErrorEvent(String providerId, String errorMessage, String originalEvent) {
         try {
-            Map<String, Object> event = createErrorEvent(providerId, errorMessage, originalEvent);
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            kafkaTemplate.send(outputTopic, providerId, eventJson)
+            kafkaTemplate.send(errorEventRecord(providerId, errorMessage, originalEvent))
                 .whenComplete((result, ex) -> {
                     if (ex == null) {
                         log.info("Successfully published catalog processing error event for provider: {}", providerId);
@@ -121,17 +202,31 @@ public class CatalogEventProducer {
         }
     }
 
+    /**
+     * Error event record for a failed catalog event; oversized originals are claim-checked
+     */
+    public ProducerRecord<String, String> errorEventRecord(String providerId, String errorMessage,
+                                                           String originalEvent) throws JsonProcessingException {
+        Map<String, Object> event = createErrorEvent(providerId, errorMessage, originalEvent);
+        return new ProducerRecord<>(outputTopic, providerId, objectMapper.writeValueAsString(event));
+    }
+
     /**
      * Create error event payload
      */
     private Map<String, Object> createErrorEvent(String providerId, String errorMessage, String originalEvent) {
         Map<String, Object> event = new HashMap<>();
         event.put("event_type", "catalog_processing_error");
-        event.put("event_id", java.util.UUID.randomUUID().toString());
+        event.put("event_id", UuidV7.next().toString());
         event.put("timestamp", OffsetDateTime.now().toString());
         event.put("provider_id", providerId);
         event.put("error_message", errorMessage);
-        event.put("original_event", originalEvent);
+        if (claimCheckService.shouldOffload(originalEvent)) {
+            // Oversized payloads are referenced instead of embedded
+            event.put("original_event_ref", claimCheckService.toMap(claimCheckService.offload(originalEvent)));
+        } else {
+            event.put("original_event", originalEvent);
+        }
         event.put("source", "catalog-publish");
         event.put("version", "2.0");
         
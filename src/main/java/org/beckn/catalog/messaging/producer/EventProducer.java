@@ -1,5 +1,7 @@
 package org.beckn.catalog.messaging.producer;
 
+import org.beckn.catalog.claimcheck.ClaimCheck;
+import org.beckn.catalog.claimcheck.ClaimCheckService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -18,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class EventProducer {
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ClaimCheckService claimCheckService;
     
     @Value("${kafka.producer.sync-timeout-ms}")
     private long syncTimeoutMs;
@@ -28,7 +31,19 @@ public class EventProducer {
     public void sendToDlt(String key, String value, String originalTopic, 
                          int originalPartition, long originalOffset, 
                          String errorMessage, String errorClass) {
-        ProducerRecord<String, String> record = new ProducerRecord<>(dltTopic, key, value);
+        send(dltRecord(key, value, originalTopic, originalPartition, originalOffset, errorMessage, errorClass));
+    }
+
+    /**
+     * DLT record for a failed input record, carrying the error and origin as headers.
+     * Oversized values are claim-checked (a blocking blob store write).
+     */
+    public ProducerRecord<String, String> dltRecord(String key, String value, String originalTopic,
+                                                    int originalPartition, long originalOffset,
+                                                    String errorMessage, String errorClass) {
+        ClaimCheck claimCheck = claimCheck(value);
+        ProducerRecord<String, String> record = new ProducerRecord<>(dltTopic, key,
+                claimCheck != null ? claimCheckService.toReferenceBody(claimCheck) : value);
         
         // Add error metadata headers
         record.headers()
@@ -37,8 +52,59 @@ public class EventProducer {
             .add(new RecordHeader("x-original-topic", originalTopic.getBytes(StandardCharsets.UTF_8)))
             .add(new RecordHeader("x-original-partition", String.valueOf(originalPartition).getBytes(StandardCharsets.UTF_8)))
             .add(new RecordHeader("x-original-offset", String.valueOf(originalOffset).getBytes(StandardCharsets.UTF_8)));
+        addClaimCheckHeaders(record, claimCheck);
+        return record;
+    }
+
+    /**
+     * Send a single catalog item that could not be stored to the DLT with the failure reason
+     */
+    public void sendItemToDlt(String itemId, String itemJson, String providerId,
+                              String errorMessage, String errorClass) {
+        send(itemDltRecord(itemId, itemJson, providerId, errorMessage, errorClass));
+    }
+
+    /**
+     * Send a failed catalog item to the DLT without waiting for the broker; send failures are logged
+     */
+    public CompletableFuture<SendResult<String, String>> sendItemToDltAsync(String itemId, String itemJson,
+                                                                            String providerId, String errorMessage,
+                                                                            String errorClass) {
+        return kafkaTemplate.send(itemDltRecord(itemId, itemJson, providerId, errorMessage, errorClass))
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to send item {} to DLT: {}", itemId, ex.getMessage(), ex);
+                }
+            });
+    }
 
-        send(record);
+    /**
+     * DLT record for a single failed item; oversized items are claim-checked like whole records
+     */
+    ProducerRecord<String, String> itemDltRecord(String itemId, String itemJson, String providerId,
+                                                 String errorMessage, String errorClass) {
+        ClaimCheck claimCheck = claimCheck(itemJson);
+        ProducerRecord<String, String> record = new ProducerRecord<>(dltTopic, itemId,
+                claimCheck != null ? claimCheckService.toReferenceBody(claimCheck) : itemJson);
+        record.headers()
+            .add(new RecordHeader("x-error", String.valueOf(errorMessage).getBytes(StandardCharsets.UTF_8)))
+            .add(new RecordHeader("x-error-class", errorClass.getBytes(StandardCharsets.UTF_8)))
+            .add(new RecordHeader("x-failure-scope", "item".getBytes(StandardCharsets.UTF_8)))
+            .add(new RecordHeader("x-provider-id", providerId.getBytes(StandardCharsets.UTF_8)));
+        addClaimCheckHeaders(record, claimCheck);
+        return record;
+    }
+
+    private ClaimCheck claimCheck(String value) {
+        return claimCheckService.shouldOffload(value) ? claimCheckService.offload(value) : null;
+    }
+
+    private static void addClaimCheckHeaders(ProducerRecord<String, String> record, ClaimCheck claimCheck) {
+        if (claimCheck != null) {
+            record.headers()
+                .add(new RecordHeader(ClaimCheckService.HEADER_CLAIM_CHECK, claimCheck.uri().getBytes(StandardCharsets.UTF_8)))
+                .add(new RecordHeader(ClaimCheckService.HEADER_CLAIM_CHECK_SHA256, claimCheck.sha256().getBytes(StandardCharsets.UTF_8)));
+        }
     }
 
     public void send(String key, String value, String topic) {
@@ -0,0 +1,275 @@
+package org.beckn.catalog.messaging.producer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beckn.catalog.entity.CatalogItem;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes {@code catalog_item_stored} events with a streaming {@link JsonGenerator} into a
+ * per-thread reusable buffer, instead of building a map per item and serializing it generically.
+ *
+ * The fields and their values are the same as the former map-based event; they are written in
+ * a fixed order. Raw item JSON is embedded verbatim; otherwise the item tree is written.
+ * Optionally items are packed into multi-item envelopes (see {@link #writeEnvelopes}).
+ */
+@Component
+public class ItemEventWriter {
+
+    public static final String EVENT_TYPE = "catalog_item_stored";
+    public static final String ENVELOPE_EVENT_TYPE = "catalog_items_stored";
+    static final String SOURCE = "catalog-publish";
+    static final String VERSION = "2.0";
+
+    /** Buffers that grew beyond this (one huge item) are dropped instead of kept per thread */
+    private static final int MAX_RETAINED_CHARS = 1 << 20;
+
+    private final JsonFactory jsonFactory;
+    private final ThreadLocal<ReusableStringWriter> buffers = ThreadLocal.withInitial(ReusableStringWriter::new);
+    private final ThreadLocal<ReusableStringWriter> itemBuffers = ThreadLocal.withInitial(ReusableStringWriter::new);
+
+    public ItemEventWriter(ObjectMapper objectMapper) {
+        // The mapper's factory carries the codec needed to write JsonNode item data
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Serialize the event for one stored item
+     *
+     * @param item Stored item
+     * @param eventTimestamp Event timestamp, shared by all items published together
+     * @return Event JSON
+     */
+    public String write(CatalogItem item, String eventTimestamp) {
+        ReusableStringWriter buffer = buffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.writeStartObject();
+            writeMetadata(generator, EVENT_TYPE, eventTimestamp);
+            writeItemFields(generator, item);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize item event for " + item.getItemId(), e);
+        }
+        String json = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CHARS) {
+            buffers.remove();
+        }
+        return json;
+    }
+
+    /**
+     * Pack items of one provider into {@code catalog_items_stored} envelopes. Each envelope holds
+     * at most maxItems items and, unless a single item is larger, at most maxBytes of UTF-8 JSON:
+     * <pre>
+     * {"event_type":"catalog_items_stored","event_id":...,"timestamp":...,"source":...,"version":...,
+     *  "provider_id":...,"items":[{"item_id":...,"provider_id":...,"created_at":...,"updated_at":...,
+     *  "item_data":{...}}, ...],"item_count":N}
+     * </pre>
+     *
+     * @return Envelope JSON, in item order
+     */
+    public List<String> writeEnvelopes(String providerId, List<CatalogItem> items, String eventTimestamp,
+                                       int maxItems, int maxBytes) {
+        return writeEnvelopes(providerId, items, eventTimestamp, maxItems, maxBytes, (item, itemJson) -> { });
+    }
+
+    /**
+     * As {@link #writeEnvelopes(String, List, String, int, int)}, handing each item's JSON object to
+     * itemConsumer once, in item order, so callers can reuse it (see {@link #writeEvent(String, String)})
+     */
+    public List<String> writeEnvelopes(String providerId, List<CatalogItem> items, String eventTimestamp,
+                                       int maxItems, int maxBytes, BiConsumer<CatalogItem, String> itemConsumer) {
+        List<String> envelopes = new ArrayList<>();
+        ReusableStringWriter buffer = buffers.get();
+        int next = 0;
+        // An item that did not fit the previous envelope, already serialized
+        String pendingJson = null;
+        try {
+            while (next < items.size()) {
+                buffer.reset();
+                int count = 0;
+                try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+                    generator.writeStartObject();
+                    writeMetadata(generator, ENVELOPE_EVENT_TYPE, eventTimestamp);
+                    generator.writeStringField("provider_id", providerId);
+                    generator.writeFieldName("items");
+                    generator.writeStartArray();
+                    generator.flush();
+                    // Header plus the closing item_count field
+                    long bytes = utf8Length(buffer.builder) + 32;
+
+                    while (next < items.size() && count < maxItems) {
+                        CatalogItem item = items.get(next);
+                        String itemJson = pendingJson != null ? pendingJson : writeItem(item);
+                        pendingJson = null;
+                        long itemBytes = utf8Length(itemJson) + 1;
+                        if (count > 0 && bytes + itemBytes > maxBytes) {
+                            pendingJson = itemJson;
+                            break;
+                        }
+                        generator.writeRawValue(itemJson);
+                        itemConsumer.accept(item, itemJson);
+                        bytes += itemBytes;
+                        count++;
+                        next++;
+                    }
+
+                    generator.writeEndArray();
+                    generator.writeNumberField("item_count", count);
+                    generator.writeEndObject();
+                }
+                envelopes.add(buffer.toString());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize item envelope for provider " + providerId, e);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_CHARS) {
+                buffers.remove();
+            }
+        }
+        return envelopes;
+    }
+
+    /**
+     * A {@code catalog_item_stored} event around an item object produced by
+     * {@link #writeEnvelopes(String, List, String, int, int, BiConsumer)}, without serializing the item again.
+     * The result equals {@link #write(CatalogItem, String)} apart from the event ID.
+     */
+    public String writeEvent(String itemJson, String eventTimestamp) {
+        // Not the envelope buffer: this runs while an envelope is being written
+        ReusableStringWriter buffer = itemBuffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.writeStartObject();
+            writeMetadata(generator, EVENT_TYPE, eventTimestamp);
+            // The item object's fields follow the metadata, without its own braces
+            generator.writeRaw(',');
+            generator.writeRaw(itemJson, 1, itemJson.length() - 2);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize item event", e);
+        }
+        String json = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CHARS) {
+            itemBuffers.remove();
+        }
+        return json;
+    }
+
+    /**
+     * One item object of an envelope
+     */
+    private String writeItem(CatalogItem item) throws IOException {
+        ReusableStringWriter buffer = itemBuffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.writeStartObject();
+            writeItemFields(generator, item);
+            generator.writeEndObject();
+        }
+        String json = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CHARS) {
+            itemBuffers.remove();
+        }
+        return json;
+    }
+
+    private static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Event metadata fields: event_type, event_id (UUIDv7), timestamp, source, version
+     */
+    void writeMetadata(JsonGenerator generator, String eventType, String eventTimestamp) throws IOException {
+        generator.writeStringField("event_type", eventType);
+        generator.writeStringField("event_id", UuidV7.next().toString());
+        generator.writeStringField("timestamp", eventTimestamp);
+        generator.writeStringField("source", SOURCE);
+        generator.writeStringField("version", VERSION);
+    }
+
+    /**
+     * Item fields: item_id, provider_id, created_at, updated_at, item_data
+     */
+    void writeItemFields(JsonGenerator generator, CatalogItem item) throws IOException {
+        generator.writeStringField("item_id", item.getItemId());
+        generator.writeStringField("provider_id", item.getProviderId());
+        generator.writeStringField("created_at", item.getCreatedAt().toString());
+        generator.writeStringField("updated_at", item.getUpdatedAt().toString());
+        generator.writeFieldName("item_data");
+        if (item.getRawItemData() != null) {
+            generator.writeRawValue(item.getRawItemData());
+        } else if (item.getItemData() != null) {
+            generator.writeTree(item.getItemData());
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    /**
+     * Writer over a StringBuilder that is cleared, not reallocated, between events
+     */
+    private static final class ReusableStringWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(4096);
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        int capacity() {
+            return builder.capacity();
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            builder.append(text, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.beckn.catalog.messaging.producer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.utils.Utils;
+import org.beckn.catalog.config.OutputRoutingProperties;
+import org.beckn.catalog.entity.CatalogItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the output topic and, with provider affinity, the partition of item events.
+ *
+ * Routes match on domain + city first, then on domain alone; unmatched items go to
+ * {@code topics.output}. Provider affinity uses the same murmur2 hash as Kafka's default
+ * partitioner, applied to the provider id instead of the item key.
+ */
+@Slf4j
+@Component
+public class OutputTopicRouter {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String defaultTopic;
+    private final boolean enabled;
+    private final boolean providerAffinity;
+    private final Map<String, String> routes = new HashMap<>();
+    private final Map<String, Integer> partitionCounts = new ConcurrentHashMap<>();
+
+    public OutputTopicRouter(KafkaTemplate<String, String> kafkaTemplate,
+                             OutputRoutingProperties properties,
+                             @Value("${topics.output}") String defaultTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.defaultTopic = defaultTopic;
+        this.enabled = properties.enabled();
+        this.providerAffinity = properties.providerAffinity();
+        for (OutputRoutingProperties.Route route : properties.routes()) {
+            // First matching route wins, as listed in the configuration
+            routes.putIfAbsent(routeKey(route.domain(), route.city()), route.topic());
+        }
+        if (enabled) {
+            log.info("Routing item events by domain/city: {} (provider affinity: {})", routes, providerAffinity);
+        }
+    }
+
+    /**
+     * Output topic for an item event
+     */
+    public String topicFor(CatalogItem item) {
+        if (!enabled || item.getDomain() == null) {
+            return defaultTopic;
+        }
+        String topic = item.getCity() != null ? routes.get(routeKey(item.getDomain(), item.getCity())) : null;
+        if (topic == null) {
+            topic = routes.get(routeKey(item.getDomain(), null));
+        }
+        return topic != null ? topic : defaultTopic;
+    }
+
+    /**
+     * Partition for a provider's item events, or null to let the producer partition by key
+     */
+    public Integer partitionFor(String topic, String providerId) {
+        if (!providerAffinity || providerId == null) {
+            return null;
+        }
+        int partitions = partitionCounts.computeIfAbsent(topic, t -> kafkaTemplate.partitionsFor(t).size());
+        return partitionFor(providerId, partitions);
+    }
+
+    /**
+     * Partition for a provider's item events when the partition count is already known
+     * (e.g. in a Kafka Streams partitioner), or null to partition by key
+     */
+    public Integer partitionFor(String providerId, int numPartitions) {
+        if (!providerAffinity || providerId == null) {
+            return null;
+        }
+        return Utils.toPositive(Utils.murmur2(providerId.getBytes(StandardCharsets.UTF_8))) % numPartitions;
+    }
+
+    private static String routeKey(String domain, String city) {
+        String key = domain.toLowerCase(Locale.ROOT);
+        return city != null && !city.isBlank() ? key + '|' + city.toLowerCase(Locale.ROOT) : key;
+    }
+}
@@ -0,0 +1,30 @@
+package org.beckn.catalog.messaging.producer;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562): 48-bit Unix epoch milliseconds followed by random bits.
+ *
+ * Random bits come from {@link ThreadLocalRandom}, so generation never blocks on the shared
+ * {@code SecureRandom} behind {@link UUID#randomUUID()}. IDs sort by creation time across
+ * milliseconds; within a millisecond their order is random. They are not suitable as secrets.
+ */
+public final class UuidV7 {
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // unix_ts_ms (48) | ver (4) = 7 | rand_a (12)
+        long mostSigBits = (epochMillis << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        // var (2) = 0b10 | rand_b (62)
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,48 @@
+package org.beckn.catalog.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-stage latency timers for the catalog ingestion pipeline
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String STAGE_TIMER = "catalog.pipeline.stage";
+
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_PERSIST = "persist";
+    public static final String STAGE_PUBLISH = "publish";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Timer for a single pipeline stage
+     */
+    public Timer stage(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Latency of a catalog pipeline stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run and time a pipeline stage
+     */
+    public <T> T time(String stage, Supplier<T> work) {
+        return stage(stage).record(work);
+    }
+
+    /**
+     * Run and time a pipeline stage without a result
+     */
+    public void record(String stage, Runnable work) {
+        stage(stage).record(work);
+    }
+}
@@ -0,0 +1,238 @@
+package org.beckn.catalog.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.beckn.catalog.entity.CatalogItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC based bulk operations for catalog items that bypass the JPA entity lifecycle
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogItemJdbcRepository {
+
+    /**
+     * Multi-row upsert from parallel arrays; item JSON is passed as text and cast to jsonb once
+     * by the server, so no object tree is built or re-serialized on the client.
+     * Existing rows are only updated by a strictly newer source_timestamp (or when either side
+     * is unversioned); stale rows are left untouched and not returned.
+     */
+    static final String UPSERT_SQL_TEMPLATE =
+            "INSERT INTO catalog_items (item_id, item_name, provider_id, item_data, source_timestamp, domain, created_by, updated_by) " +
+            "SELECT t.item_id, t.item_name, t.provider_id, CAST(t.item_data AS jsonb), " +
+            "CAST(t.source_timestamp AS timestamptz), t.domain, 'system', 'system' " +
+            "FROM unnest(%s::varchar[], %s::text[], %s::varchar[], %s::text[], %s::text[], %s::varchar[]) " +
+            "AS t(item_id, item_name, provider_id, item_data, source_timestamp, domain) " +
+            "ON CONFLICT (item_id) DO UPDATE SET " +
+            "item_name = EXCLUDED.item_name, " +
+            "provider_id = EXCLUDED.provider_id, " +
+            "item_data = EXCLUDED.item_data, " +
+            "source_timestamp = EXCLUDED.source_timestamp, " +
+            "domain = EXCLUDED.domain, " +
+            "updated_by = 'system' " +
+            "WHERE catalog_items.source_timestamp IS NULL " +
+            "OR EXCLUDED.source_timestamp IS NULL " +
+            "OR catalog_items.source_timestamp < EXCLUDED.source_timestamp " +
+            "RETURNING item_id, created_at, updated_at";
+
+    private static final String UPSERT_SQL = UPSERT_SQL_TEMPLATE.replace("%s", "?");
+
+    /**
+     * Deletes one chunk of expired items in (updated_at, item_id) order, starting after the cursor.
+     * Rows locked by concurrent writers are skipped instead of waited for. The deleted keys are
+     * returned in index order so the last one is the next cursor.
+     */
+    private static final String DELETE_EXPIRED_SQL =
+            "WITH expired AS (" +
+            "SELECT item_id FROM catalog_items " +
+            "WHERE %s AND updated_at < ? %s " +
+            "ORDER BY updated_at, item_id " +
+            "LIMIT ? " +
+            "FOR UPDATE SKIP LOCKED), " +
+            "deleted AS (" +
+            "DELETE FROM catalog_items c USING expired e WHERE c.item_id = e.item_id " +
+            "RETURNING c.item_id, c.updated_at) " +
+            "SELECT item_id, updated_at FROM deleted ORDER BY updated_at, item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Upsert items in a single statement and populate their database timestamps.
+     * If an item ID occurs more than once, the last occurrence wins.
+     *
+     * @param items Items to store; raw item JSON is used verbatim when present
+     * @return Stored items in input order, and the number of stale items that were skipped
+     */
+    public UpsertResult upsertAll(List<CatalogItem> items) {
+        if (items.isEmpty()) {
+            return new UpsertResult(new ArrayList<>(), 0);
+        }
+
+        UpsertBatch batch = toUpsertBatch(items);
+        Set<CatalogItem> applied = Collections.newSetFromMap(new IdentityHashMap<>());
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(UPSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", batch.itemIds()));
+            statement.setArray(2, connection.createArrayOf("text", batch.itemNames()));
+            statement.setArray(3, connection.createArrayOf("varchar", batch.providerIds()));
+            statement.setArray(4, connection.createArrayOf("text", batch.itemData()));
+            statement.setArray(5, connection.createArrayOf("text", batch.sourceTimestamps()));
+            statement.setArray(6, connection.createArrayOf("varchar", batch.domains()));
+            return statement;
+        }, resultSet -> {
+            applied.add(batch.applied(resultSet.getString("item_id"),
+                    resultSet.getObject("created_at", OffsetDateTime.class),
+                    resultSet.getObject("updated_at", OffsetDateTime.class)));
+        });
+        return batch.result(applied);
+    }
+
+    /**
+     * Column arrays for the upsert statement. If an item ID occurs more than once, the last occurrence wins.
+     */
+    UpsertBatch toUpsertBatch(List<CatalogItem> items) {
+        Map<String, CatalogItem> byId = new LinkedHashMap<>();
+        for (CatalogItem item : items) {
+            byId.remove(item.getItemId());
+            byId.put(item.getItemId(), item);
+        }
+
+        int size = byId.size();
+        String[] itemIds = new String[size];
+        String[] itemNames = new String[size];
+        String[] providerIds = new String[size];
+        String[] itemData = new String[size];
+        String[] sourceTimestamps = new String[size];
+        String[] domains = new String[size];
+        int i = 0;
+        for (CatalogItem item : byId.values()) {
+            itemIds[i] = item.getItemId();
+            itemNames[i] = item.getItemName();
+            providerIds[i] = item.getProviderId();
+            itemData[i] = itemDataJson(item);
+            sourceTimestamps[i] = item.getSourceTimestamp() != null ? item.getSourceTimestamp().toString() : null;
+            domains[i] = item.getDomain();
+            i++;
+        }
+        return new UpsertBatch(byId, itemIds, itemNames, providerIds, itemData, sourceTimestamps, domains);
+    }
+
+    /**
+     * Deduplicated items of one upsert and their column arrays
+     */
+    record UpsertBatch(Map<String, CatalogItem> byId, String[] itemIds, String[] itemNames, String[] providerIds,
+                       String[] itemData, String[] sourceTimestamps, String[] domains) {
+
+        /**
+         * Populate the database timestamps of a row returned by the upsert
+         */
+        CatalogItem applied(String itemId, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+            CatalogItem item = byId.get(itemId);
+            item.setCreatedAt(createdAt);
+            item.setUpdatedAt(updatedAt);
+            return item;
+        }
+
+        /**
+         * Stored items in input order; items missing from RETURNING were older than the stored version
+         */
+        UpsertResult result(Set<CatalogItem> applied) {
+            List<CatalogItem> stored = new ArrayList<>(applied.size());
+            for (CatalogItem item : byId.values()) {
+                if (applied.contains(item)) {
+                    stored.add(item);
+                }
+            }
+            return new UpsertResult(stored, byId.size() - stored.size());
+        }
+    }
+
+    /**
+     * Outcome of a bulk upsert
+     *
+     * @param stored Items inserted or updated
+     * @param stale Items skipped because a same-or-newer version was already stored
+     */
+    public record UpsertResult(List<CatalogItem> stored, int stale) {
+    }
+
+    /**
+     * Delete one chunk of items not updated since the cutoff
+     *
+     * @param domain Domain to expire, or null for items without a domain or of a domain not in excludedDomains
+     * @param excludedDomains Domains with their own TTL; only used when domain is null
+     * @param cutoff Items last updated before this are deleted
+     * @param after Keyset cursor from the previous chunk, or null to start from the oldest item
+     * @param limit Maximum number of items to delete
+     * @return Deleted item IDs and the cursor for the next chunk
+     */
+    public ExpiredChunk deleteExpiredChunk(String domain, Collection<String> excludedDomains,
+                                           OffsetDateTime cutoff, ExpiredChunk after, int limit) {
+        String domainPredicate = domain != null
+                ? "domain = ?"
+                : "(domain IS NULL OR domain <> ALL(?::varchar[]))";
+        String cursorPredicate = after != null ? "AND (updated_at, item_id) > (?, ?)" : "";
+        String sql = String.format(DELETE_EXPIRED_SQL, domainPredicate, cursorPredicate);
+
+        List<String> itemIds = new ArrayList<>(limit);
+        OffsetDateTime[] lastUpdatedAt = {after != null ? after.lastUpdatedAt() : null};
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            int index = 1;
+            if (domain != null) {
+                statement.setString(index++, domain);
+            } else {
+                statement.setArray(index++, connection.createArrayOf("varchar", excludedDomains.toArray()));
+            }
+            statement.setObject(index++, cutoff);
+            if (after != null) {
+                statement.setObject(index++, after.lastUpdatedAt());
+                statement.setString(index++, after.lastItemId());
+            }
+            statement.setInt(index, limit);
+            return statement;
+        }, resultSet -> {
+            itemIds.add(resultSet.getString("item_id"));
+            lastUpdatedAt[0] = resultSet.getObject("updated_at", OffsetDateTime.class);
+        });
+
+        String lastItemId = itemIds.isEmpty()
+                ? (after != null ? after.lastItemId() : null)
+                : itemIds.get(itemIds.size() - 1);
+        return new ExpiredChunk(itemIds, lastUpdatedAt[0], lastItemId);
+    }
+
+    /**
+     * Items deleted by one retention chunk, doubling as the keyset cursor for the next one
+     */
+    public record ExpiredChunk(List<String> itemIds, OffsetDateTime lastUpdatedAt, String lastItemId) {
+    }
+
+    /**
+     * Item JSON as stored in the jsonb column: the raw source text when present, else the serialized tree
+     */
+    public String itemDataJson(CatalogItem item) {
+        if (item.getRawItemData() != null) {
+            return item.getRawItemData();
+        }
+        try {
+            return objectMapper.writeValueAsString(item.getItemData());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize item data for " + item.getItemId(), e);
+        }
+    }
+}
@@ -47,6 +47,12 @@ public interface CatalogItemRepository extends JpaRepository<CatalogItem, String
      */
     long countByProviderId(String providerId);
 
+    /**
+     * Find item IDs by provider ID (without loading item data)
+     */
+    @Query("SELECT c.itemId FROM CatalogItem c WHERE c.providerId = :providerId")
+    List<String> findItemIdsByProviderId(@Param("providerId") String providerId);
+
     /**
      * Delete items by provider ID
      */
@@ -0,0 +1,223 @@
+package org.beckn.catalog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalized item tags ({@code item_tags}) and the tag filter / facet queries over them.
+ *
+ * Rows are dictionary ids only, so the (category, code, value, item) index stays small and
+ * filters are index-only scans. Facet counts over all items are kept in {@code tag_facet_counts}:
+ * triggers on {@code item_tags} append per-statement deltas, also for cascaded deletes, and
+ * {@link #compactFacetCounts()} folds them in. Readers add the pending deltas, so counts are
+ * exact at all times without every ingest transaction updating the same hot counter rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemTagJdbcRepository {
+
+    /**
+     * Make the tags of the given items exactly the incoming ones; unchanged tags are not touched
+     */
+    private static final String REPLACE_ITEM_TAGS_SQL =
+            "WITH incoming AS (" +
+            "SELECT * FROM unnest(?::varchar[], ?::int4[], ?::int4[], ?::int4[]) " +
+            "AS t(item_id, category_id, code_id, value_id)), " +
+            "removed AS (" +
+            "DELETE FROM item_tags it WHERE it.item_id = ANY(?::varchar[]) " +
+            "AND NOT EXISTS (SELECT 1 FROM incoming i WHERE i.item_id = it.item_id " +
+            "AND i.category_id = it.category_id AND i.code_id = it.code_id AND i.value_id = it.value_id)) " +
+            "INSERT INTO item_tags (item_id, category_id, code_id, value_id) " +
+            "SELECT item_id, category_id, code_id, value_id FROM incoming " +
+            "ON CONFLICT DO NOTHING";
+
+    /**
+     * Moves all pending deltas into the counts in one statement; rows are locked in key order
+     */
+    private static final String COMPACT_SQL =
+            "WITH moved AS (" +
+            "DELETE FROM tag_facet_deltas RETURNING category_id, code_id, value_id, delta) " +
+            "INSERT INTO tag_facet_counts (category_id, code_id, value_id, item_count) " +
+            "SELECT category_id, code_id, value_id, sum(delta) FROM moved " +
+            "GROUP BY category_id, code_id, value_id ORDER BY category_id, code_id, value_id " +
+            "ON CONFLICT (category_id, code_id, value_id) DO UPDATE " +
+            "SET item_count = tag_facet_counts.item_count + EXCLUDED.item_count";
+
+    private static final String DELETE_EMPTY_COUNTS_SQL = "DELETE FROM tag_facet_counts WHERE item_count <= 0";
+
+    private static final String ALL_FACETS_SQL =
+            "SELECT c.name AS category, d.name AS code, v.name AS value, f.item_count FROM (" +
+            "SELECT category_id, code_id, value_id, sum(n) AS item_count FROM (" +
+            "SELECT category_id, code_id, value_id, item_count AS n FROM tag_facet_counts " +
+            "UNION ALL " +
+            "SELECT category_id, code_id, value_id, delta FROM tag_facet_deltas) u " +
+            "GROUP BY category_id, code_id, value_id HAVING sum(n) > 0 " +
+            "ORDER BY item_count DESC LIMIT ?) f " +
+            "JOIN tag_categories c ON c.id = f.category_id " +
+            "JOIN tag_codes d ON d.id = f.code_id " +
+            "JOIN tag_values v ON v.id = f.value_id " +
+            "ORDER BY f.item_count DESC, c.name, d.name, v.name";
+
+    private static final String MATCHED_ITEMS_SQL =
+            "WITH matched AS (%s) " +
+            "SELECT c.item_id, c.item_name, c.provider_id, count(*) OVER () AS total " +
+            "FROM matched m JOIN catalog_items c ON c.item_id = m.item_id " +
+            "ORDER BY c.item_id LIMIT ?";
+
+    private static final String MATCHED_FACETS_SQL =
+            "WITH matched AS (%s) " +
+            "SELECT c.name AS category, d.name AS code, v.name AS value, f.item_count FROM (" +
+            "SELECT t.category_id, t.code_id, t.value_id, count(*) AS item_count " +
+            "FROM matched m JOIN item_tags t ON t.item_id = m.item_id " +
+            "GROUP BY t.category_id, t.code_id, t.value_id " +
+            "ORDER BY item_count DESC LIMIT ?) f " +
+            "JOIN tag_categories c ON c.id = f.category_id " +
+            "JOIN tag_codes d ON d.id = f.code_id " +
+            "JOIN tag_values v ON v.id = f.value_id " +
+            "ORDER BY f.item_count DESC, c.name, d.name, v.name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replace the tags of stored items
+     *
+     * @param itemIds Items whose tags are replaced, including items that no longer have any
+     * @param tags Their current tags
+     */
+    public void replaceItemTags(List<String> itemIds, List<ItemTagIds> tags) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        int size = tags.size();
+        String[] tagItemIds = new String[size];
+        Integer[] categoryIds = new Integer[size];
+        Integer[] codeIds = new Integer[size];
+        Integer[] valueIds = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ItemTagIds tag = tags.get(i);
+            tagItemIds[i] = tag.itemId();
+            categoryIds[i] = tag.categoryId();
+            codeIds[i] = tag.codeId();
+            valueIds[i] = tag.valueId();
+        }
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(REPLACE_ITEM_TAGS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", tagItemIds));
+            statement.setArray(2, connection.createArrayOf("int4", categoryIds));
+            statement.setArray(3, connection.createArrayOf("int4", codeIds));
+            statement.setArray(4, connection.createArrayOf("int4", valueIds));
+            statement.setArray(5, connection.createArrayOf("varchar", itemIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Items matching every group of terms (any term within a group), in item ID order
+     *
+     * @param allOf Resolved filter groups; must not be empty
+     * @param limit Maximum number of items to return
+     * @param facetLimit Maximum number of facets over the matched items
+     */
+    public TagSearchResult search(List<List<TagTerm>> allOf, int limit, int facetLimit) {
+        List<Object> params = new ArrayList<>();
+        String matched = matchedItemsSql(allOf, params);
+
+        List<Object> itemParams = new ArrayList<>(params);
+        itemParams.add(limit);
+        long[] total = {0};
+        List<TaggedItem> items = jdbcTemplate.query(String.format(MATCHED_ITEMS_SQL, matched), (resultSet, row) -> {
+            total[0] = resultSet.getLong("total");
+            return new TaggedItem(resultSet.getString("item_id"), resultSet.getString("item_name"),
+                    resultSet.getString("provider_id"));
+        }, itemParams.toArray());
+
+        List<Object> facetParams = new ArrayList<>(params);
+        facetParams.add(facetLimit);
+        List<TagFacet> facets = jdbcTemplate.query(String.format(MATCHED_FACETS_SQL, matched),
+                (resultSet, row) -> toFacet(resultSet), facetParams.toArray());
+        return new TagSearchResult(items, total[0], facets);
+    }
+
+    /**
+     * Most frequent tag values over all items, from the incrementally maintained counts
+     */
+    public List<TagFacet> findAllFacets(int facetLimit) {
+        return jdbcTemplate.query(ALL_FACETS_SQL, (resultSet, row) -> toFacet(resultSet), facetLimit);
+    }
+
+    /**
+     * Fold pending facet count deltas into the counts
+     *
+     * @return Number of facet counts changed
+     */
+    public int compactFacetCounts() {
+        int changed = jdbcTemplate.update(COMPACT_SQL);
+        if (changed > 0) {
+            jdbcTemplate.update(DELETE_EMPTY_COUNTS_SQL);
+        }
+        return changed;
+    }
+
+    /**
+     * One SELECT of item_tags per group, intersected; each group is a bitmap OR of index scans
+     */
+    private static String matchedItemsSql(List<List<TagTerm>> allOf, List<Object> params) {
+        List<String> groups = new ArrayList<>(allOf.size());
+        for (List<TagTerm> anyOf : allOf) {
+            List<String> terms = new ArrayList<>(anyOf.size());
+            for (TagTerm term : anyOf) {
+                params.add(term.categoryId());
+                params.add(term.codeId());
+                if (term.valueId() != null) {
+                    params.add(term.valueId());
+                    terms.add("(category_id = ? AND code_id = ? AND value_id = ?)");
+                } else {
+                    terms.add("(category_id = ? AND code_id = ?)");
+                }
+            }
+            groups.add("SELECT DISTINCT item_id FROM item_tags WHERE " + String.join(" OR ", terms));
+        }
+        return String.join(" INTERSECT ", groups);
+    }
+
+    private static TagFacet toFacet(ResultSet resultSet) throws SQLException {
+        return new TagFacet(resultSet.getString("category"), resultSet.getString("code"),
+                resultSet.getString("value"), resultSet.getLong("item_count"));
+    }
+
+    /**
+     * A tag of an item as dictionary ids
+     */
+    public record ItemTagIds(String itemId, int categoryId, int codeId, int valueId) {
+    }
+
+    /**
+     * A filter term as dictionary ids; a null valueId matches any value of the code
+     */
+    public record TagTerm(int categoryId, int codeId, Integer valueId) {
+    }
+
+    /**
+     * An item matching a tag filter
+     */
+    public record TaggedItem(String itemId, String itemName, String providerId) {
+    }
+
+    /**
+     * Number of items having a tag value
+     */
+    public record TagFacet(String category, String code, String value, long itemCount) {
+    }
+
+    /**
+     * Page of matching items, the total number of matches, and facets over all matches
+     */
+    public record TagSearchResult(List<TaggedItem> items, long total, List<TagFacet> facets) {
+    }
+}
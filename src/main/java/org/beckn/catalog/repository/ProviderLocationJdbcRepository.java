@@ -0,0 +1,232 @@
+package org.beckn.catalog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.geo.GeoHash;
+import org.beckn.catalog.geo.ProviderLocation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider locations indexed by geohash, the item to location links, and radius queries over them.
+ *
+ * A radius query scans the geohash index once per covering cell ({@link GeoHash#cover}) as a
+ * range {@code [cell, cell + '{')} and keeps only candidates whose haversine distance is within
+ * the radius. No spatial extension is needed; the geohash column uses the "C" collation so the
+ * ranges follow byte order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProviderLocationJdbcRepository {
+
+    /**
+     * Unchanged locations are not rewritten, since every catalog republish carries them all again
+     */
+    private static final String UPSERT_LOCATIONS_SQL =
+            "INSERT INTO provider_locations (provider_id, location_id, latitude, longitude, geohash) " +
+            "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::float8[], ?::float8[], ?::varchar[]) " +
+            "ON CONFLICT (provider_id, location_id) DO UPDATE SET " +
+            "latitude = EXCLUDED.latitude, " +
+            "longitude = EXCLUDED.longitude, " +
+            "geohash = EXCLUDED.geohash, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE provider_locations.geohash <> EXCLUDED.geohash " +
+            "OR provider_locations.latitude <> EXCLUDED.latitude " +
+            "OR provider_locations.longitude <> EXCLUDED.longitude";
+
+    /**
+     * Make the links of the given items exactly the incoming ones: links that are gone are deleted,
+     * new ones inserted, and links that are still present are left untouched
+     */
+    private static final String REPLACE_ITEM_LOCATIONS_SQL =
+            "WITH incoming AS (" +
+            "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]) AS t(item_id, provider_id, location_id)), " +
+            "removed AS (" +
+            "DELETE FROM item_locations il WHERE il.item_id = ANY(?::varchar[]) " +
+            "AND NOT EXISTS (SELECT 1 FROM incoming i WHERE i.item_id = il.item_id AND i.location_id = il.location_id)) " +
+            "INSERT INTO item_locations (item_id, provider_id, location_id) " +
+            "SELECT item_id, provider_id, location_id FROM incoming " +
+            "ON CONFLICT (item_id, location_id) DO UPDATE SET provider_id = EXCLUDED.provider_id " +
+            "WHERE item_locations.provider_id <> EXCLUDED.provider_id";
+
+    private static final String FIND_CANDIDATES_SQL =
+            "SELECT l.provider_id, l.location_id, l.latitude, l.longitude " +
+            "FROM unnest(?::varchar[], ?::varchar[]) AS r(low, high) " +
+            "JOIN provider_locations l ON l.geohash >= r.low AND l.geohash < r.high";
+
+    /**
+     * Items linked to one of the nearby locations, plus items without links of a nearby provider
+     * (available at all of its locations); each item is reported at its nearest location
+     */
+    private static final String FIND_ITEMS_SQL =
+            "WITH nearby AS (" +
+            "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::float8[]) AS n(provider_id, location_id, distance)), " +
+            "matches AS (" +
+            "SELECT il.item_id, n.location_id, n.distance FROM nearby n " +
+            "JOIN item_locations il ON il.provider_id = n.provider_id AND il.location_id = n.location_id " +
+            "UNION ALL " +
+            "SELECT c.item_id, n.location_id, n.distance FROM nearby n " +
+            "JOIN catalog_items c ON c.provider_id = n.provider_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM item_locations il WHERE il.item_id = c.item_id)), " +
+            "nearest AS (" +
+            "SELECT DISTINCT ON (item_id) item_id, location_id, distance FROM matches ORDER BY item_id, distance) " +
+            "SELECT c.item_id, c.item_name, c.provider_id, m.location_id, m.distance " +
+            "FROM nearest m JOIN catalog_items c ON c.item_id = m.item_id " +
+            "ORDER BY m.distance, c.item_id " +
+            "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert or update provider locations in a single statement.
+     * If a location occurs more than once, the last occurrence wins.
+     *
+     * @return Number of locations inserted or changed
+     */
+    public int upsertAll(List<ProviderLocation> locations) {
+        if (locations.isEmpty()) {
+            return 0;
+        }
+        Map<List<String>, ProviderLocation> byKey = new LinkedHashMap<>();
+        for (ProviderLocation location : locations) {
+            byKey.put(List.of(location.providerId(), location.locationId()), location);
+        }
+
+        int size = byKey.size();
+        String[] providerIds = new String[size];
+        String[] locationIds = new String[size];
+        Double[] latitudes = new Double[size];
+        Double[] longitudes = new Double[size];
+        String[] geohashes = new String[size];
+        int i = 0;
+        for (ProviderLocation location : byKey.values()) {
+            providerIds[i] = location.providerId();
+            locationIds[i] = location.locationId();
+            latitudes[i] = location.latitude();
+            longitudes[i] = location.longitude();
+            geohashes[i] = location.geohash();
+            i++;
+        }
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(UPSERT_LOCATIONS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", providerIds));
+            statement.setArray(2, connection.createArrayOf("varchar", locationIds));
+            statement.setArray(3, connection.createArrayOf("float8", latitudes));
+            statement.setArray(4, connection.createArrayOf("float8", longitudes));
+            statement.setArray(5, connection.createArrayOf("varchar", geohashes));
+            return statement;
+        });
+    }
+
+    /**
+     * Replace the location links of stored items with their current {@link CatalogItem#getLocationIds()}
+     */
+    public void replaceItemLocations(List<CatalogItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<String> itemIds = new ArrayList<>();
+        List<String> providerIds = new ArrayList<>();
+        List<String> locationIds = new ArrayList<>();
+        String[] replacedItemIds = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            CatalogItem item = items.get(i);
+            replacedItemIds[i] = item.getItemId();
+            for (String locationId : item.getLocationIds()) {
+                itemIds.add(item.getItemId());
+                providerIds.add(item.getProviderId());
+                locationIds.add(locationId);
+            }
+        }
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(REPLACE_ITEM_LOCATIONS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", itemIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", providerIds.toArray()));
+            statement.setArray(3, connection.createArrayOf("varchar", locationIds.toArray()));
+            statement.setArray(4, connection.createArrayOf("varchar", replacedItemIds));
+            return statement;
+        });
+    }
+
+    /**
+     * Provider locations within radiusMeters of a point, nearest first
+     */
+    public List<NearbyLocation> findLocationsWithin(double latitude, double longitude, double radiusMeters) {
+        List<String> cells = GeoHash.cover(latitude, longitude, radiusMeters);
+        String[] lows = cells.toArray(new String[0]);
+        String[] highs = new String[lows.length];
+        for (int i = 0; i < lows.length; i++) {
+            highs[i] = lows[i] + GeoHash.RANGE_END;
+        }
+
+        List<NearbyLocation> nearby = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FIND_CANDIDATES_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", lows));
+            statement.setArray(2, connection.createArrayOf("varchar", highs));
+            return statement;
+        }, resultSet -> {
+            // Cells are rectangles; only candidates inside the circle are kept
+            double distance = GeoHash.distanceMeters(latitude, longitude,
+                    resultSet.getDouble("latitude"), resultSet.getDouble("longitude"));
+            if (distance <= radiusMeters) {
+                nearby.add(new NearbyLocation(resultSet.getString("provider_id"),
+                        resultSet.getString("location_id"), distance));
+            }
+        });
+        nearby.sort(Comparator.comparingDouble(NearbyLocation::distanceMeters));
+        return nearby;
+    }
+
+    /**
+     * Items available at the given locations, each at its nearest one, nearest first
+     */
+    public List<NearbyItem> findItemsAt(List<NearbyLocation> locations, int limit) {
+        if (locations.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String[] providerIds = new String[locations.size()];
+        String[] locationIds = new String[locations.size()];
+        Double[] distances = new Double[locations.size()];
+        for (int i = 0; i < locations.size(); i++) {
+            NearbyLocation location = locations.get(i);
+            providerIds[i] = location.providerId();
+            locationIds[i] = location.locationId();
+            distances[i] = location.distanceMeters();
+        }
+
+        List<NearbyItem> items = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FIND_ITEMS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", providerIds));
+            statement.setArray(2, connection.createArrayOf("varchar", locationIds));
+            statement.setArray(3, connection.createArrayOf("float8", distances));
+            statement.setInt(4, limit);
+            return statement;
+        }, resultSet -> {
+            items.add(new NearbyItem(resultSet.getString("item_id"), resultSet.getString("item_name"),
+                    resultSet.getString("provider_id"), resultSet.getString("location_id"),
+                    resultSet.getDouble("distance")));
+        });
+        return items;
+    }
+
+    /**
+     * A provider location within the query radius
+     */
+    public record NearbyLocation(String providerId, String locationId, double distanceMeters) {
+    }
+
+    /**
+     * An item available within the query radius, at its nearest location
+     */
+    public record NearbyItem(String itemId, String itemName, String providerId, String locationId,
+                             double distanceMeters) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.beckn.catalog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.beckn.catalog.entity.CatalogItem;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * R2DBC counterpart of {@link CatalogItemJdbcRepository#upsertAll} for the reactive engine:
+ * the same single-statement upsert and version guard, without blocking a thread on the database
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCatalogItemRepository {
+
+    private static final String UPSERT_SQL = String.format(CatalogItemJdbcRepository.UPSERT_SQL_TEMPLATE,
+            "$1", "$2", "$3", "$4", "$5", "$6");
+
+    private final DatabaseClient databaseClient;
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+
+    /**
+     * Upsert items in a single auto-committed statement and populate their database timestamps
+     *
+     * @param items Items to store; raw item JSON is used verbatim when present
+     * @return Stored items in input order, and the number of stale items that were skipped
+     */
+    public Mono<CatalogItemJdbcRepository.UpsertResult> upsertAll(List<CatalogItem> items) {
+        if (items.isEmpty()) {
+            return Mono.just(new CatalogItemJdbcRepository.UpsertResult(new ArrayList<>(), 0));
+        }
+
+        return Mono.defer(() -> {
+            CatalogItemJdbcRepository.UpsertBatch batch = catalogItemJdbcRepository.toUpsertBatch(items);
+            return databaseClient.sql(UPSERT_SQL)
+                    .bind(0, batch.itemIds())
+                    .bind(1, batch.itemNames())
+                    .bind(2, batch.providerIds())
+                    .bind(3, batch.itemData())
+                    .bind(4, batch.sourceTimestamps())
+                    .bind(5, batch.domains())
+                    .map((row, metadata) -> batch.applied(row.get("item_id", String.class),
+                            row.get("created_at", OffsetDateTime.class),
+                            row.get("updated_at", OffsetDateTime.class)))
+                    .all()
+                    .collect(() -> Collections.<CatalogItem>newSetFromMap(new IdentityHashMap<>()), Set::add)
+                    .map(batch::result);
+        });
+    }
+}
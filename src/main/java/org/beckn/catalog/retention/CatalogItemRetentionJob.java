@@ -0,0 +1,139 @@
+package org.beckn.catalog.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes catalog items whose {@code updated_at} is older than their domain's TTL.
+ *
+ * Items are deleted in small keyset-ordered chunks, each a single auto-committed statement that
+ * skips rows locked by ingestion, with a pause between chunks. Tombstones are published to the
+ * item state topic after every chunk. Several instances may run the job at the same time; locked
+ * rows are skipped rather than contended for.
+ *
+ * The chunk budget of a run is split evenly across the configured domains and the default TTL,
+ * with any unused share passed on to the domains after it, and the starting domain rotates between
+ * runs, so a large backlog in one domain cannot starve the others. Every run starts again from the
+ * oldest expired row, which also retries rows that were skipped as locked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RetentionProperties.class)
+@ConditionalOnProperty(name = "catalog.retention.enabled", havingValue = "true")
+public class CatalogItemRetentionJob {
+
+    private static final String DEFAULT_DOMAIN_TAG = "default";
+
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+    private final CatalogEventProducer catalogEventProducer;
+    private final RetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /** Index of the domain the next run starts with; runs never overlap (fixed delay) */
+    private int startDomain;
+
+    @Scheduled(fixedDelayString = "${catalog.retention.interval-ms:3600000}",
+               initialDelayString = "${catalog.retention.initial-delay-ms:60000}")
+    public void expire() {
+        List<String> domains = new ArrayList<>(properties.ttl().keySet());
+        if (properties.defaultTtl() != null) {
+            // null stands for all domains without their own TTL
+            domains.add(null);
+        }
+        if (domains.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int start = Math.floorMod(startDomain++, domains.size());
+        int chunksLeft = properties.maxChunksPerRun();
+        long deleted = 0;
+        boolean backlog = false;
+        try {
+            for (int i = 0; i < domains.size(); i++) {
+                String domain = domains.get((start + i) % domains.size());
+                Duration ttl = domain != null ? properties.ttl().get(domain) : properties.defaultTtl();
+                // Even share of what is left, at least one chunk so every domain makes progress
+                int share = Math.max(1, chunksLeft / (domains.size() - i));
+                Progress progress = expireDomain(domain, ttl, share);
+                chunksLeft -= progress.chunks();
+                deleted += progress.deleted();
+                backlog |= !progress.complete();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sample.stop(meterRegistry.timer("catalog.retention.run"));
+        }
+
+        if (deleted > 0 || backlog) {
+            log.info("Retention run deleted {} expired catalog items{}", deleted,
+                    backlog ? " (chunk budget exhausted, continuing next run)" : "");
+        }
+    }
+
+    /**
+     * Expire one domain, or all domains without their own TTL when domain is null
+     */
+    private Progress expireDomain(String domain, Duration ttl, int maxChunks) throws InterruptedException {
+        String domainTag = domain != null ? domain : DEFAULT_DOMAIN_TAG;
+        Counter deletedCounter = Counter.builder("catalog.retention.deleted")
+                .description("Catalog items deleted by the retention job")
+                .tag("domain", domainTag)
+                .register(meterRegistry);
+        Counter chunkCounter = Counter.builder("catalog.retention.chunks")
+                .description("Delete chunks executed by the retention job")
+                .tag("domain", domainTag)
+                .register(meterRegistry);
+
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(ttl);
+        CatalogItemJdbcRepository.ExpiredChunk cursor = null;
+        int chunks = 0;
+        long deleted = 0;
+        boolean complete = false;
+        while (chunks < maxChunks) {
+            if (chunks > 0) {
+                Thread.sleep(properties.chunkPause().toMillis());
+            }
+            CatalogItemJdbcRepository.ExpiredChunk chunk = catalogItemJdbcRepository.deleteExpiredChunk(
+                    domain, properties.ttl().keySet(), cutoff, cursor, properties.chunkSize());
+            chunks++;
+            chunkCounter.increment();
+            if (chunk.itemIds().isEmpty()) {
+                complete = true;
+                break;
+            }
+
+            catalogEventProducer.publishItemTombstones(chunk.itemIds());
+            deletedCounter.increment(chunk.itemIds().size());
+            deleted += chunk.itemIds().size();
+            log.debug("Expired {} items of domain {} up to updated_at {}",
+                    chunk.itemIds().size(), domainTag, chunk.lastUpdatedAt());
+
+            if (chunk.itemIds().size() < properties.chunkSize()) {
+                complete = true;
+                break;
+            }
+            cursor = chunk;
+        }
+        return new Progress(chunks, deleted, complete);
+    }
+
+    private record Progress(int chunks, long deleted, boolean complete) {
+    }
+}
@@ -0,0 +1,28 @@
+package org.beckn.catalog.retention;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Catalog item retention ({@code catalog.retention})
+ *
+ * @param enabled Run the retention job
+ * @param defaultTtl TTL on updated_at for items of domains without their own TTL; null keeps them forever
+ * @param ttl Per-domain TTL keyed by Beckn context.domain, e.g. {@code "[ONDC:RET10]": P30D}
+ * @param chunkSize Items deleted per statement
+ * @param chunkPause Pause between chunks, bounding lock time and WAL rate
+ * @param maxChunksPerRun Upper bound on chunks per run, split evenly across the domains (at least one each)
+ */
+@ConfigurationProperties(prefix = "catalog.retention")
+public record RetentionProperties(boolean enabled, Duration defaultTtl, Map<String, Duration> ttl,
+                                  int chunkSize, Duration chunkPause, int maxChunksPerRun) {
+
+    public RetentionProperties {
+        ttl = ttl != null ? ttl : Map.of();
+        chunkSize = chunkSize > 0 ? chunkSize : 500;
+        chunkPause = chunkPause != null ? chunkPause : Duration.ofMillis(200);
+        maxChunksPerRun = maxChunksPerRun > 0 ? maxChunksPerRun : 1000;
+    }
+}
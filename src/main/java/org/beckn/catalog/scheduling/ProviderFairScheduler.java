@@ -0,0 +1,238 @@
+package org.beckn.catalog.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Weighted fair scheduler that interleaves catalog work across providers.
+ *
+ * Large catalogs are split into chunks; each chunk is tagged with a virtual finish time
+ * (self-clocked fair queuing: start = max(virtual time, provider's last finish), finish =
+ * start + items / weight) and workers always run the eligible chunk with the smallest tag.
+ * A provider with a 40k-item catalog therefore gets its weighted share of the workers while
+ * a small provider's single chunk is dispatched almost immediately.
+ *
+ * Each provider is also capped at a fixed number of chunks in flight. With the default cap of 1
+ * a provider's chunks run strictly in submission order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.scheduling.enabled", havingValue = "true")
+public class ProviderFairScheduler {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.scheduling.workers:4}")
+    private int workers;
+
+    @Value("${catalog.scheduling.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${catalog.scheduling.max-in-flight-per-provider:1}")
+    private int maxInFlightPerProvider;
+
+    @Value("${catalog.scheduling.max-queued-chunks:1000}")
+    private int maxQueuedChunks;
+
+    @Value("${catalog.scheduling.default-weight:1.0}")
+    private double defaultWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Map<String, ProviderQueue> queues = new HashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Map<String, Double> weights = Map.of();
+    private Semaphore capacity;
+    private ExecutorService executor;
+    private double virtualTime;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void start() {
+        weights = Binder.get(environment)
+                .bind("catalog.scheduling.weights", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+        capacity = new Semaphore(maxQueuedChunks);
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "provider-scheduler-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::workLoop);
+        }
+        Gauge.builder("catalog.scheduler.queued.chunks", queued, AtomicInteger::get)
+                .description("Chunks waiting in the provider fair scheduler")
+                .register(meterRegistry);
+        log.info("Provider fair scheduler started: workers={}, chunkSize={}, maxInFlightPerProvider={}, weights={}",
+                workers, chunkSize, maxInFlightPerProvider, weights);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Split a provider's items into chunks and schedule them fairly against other providers.
+     * Blocks the caller while the scheduler is at capacity, propagating backpressure to the listener.
+     *
+     * @param providerId Provider the items belong to
+     * @param items Items to process
+     * @param work Work to run per chunk
+     * @return Future completing with the per-chunk results in chunk order
+     */
+    public <T, R> CompletableFuture<List<R>> submitChunked(String providerId, List<T> items,
+                                                          Function<List<T>, R> work) throws InterruptedException {
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            futures.add(submit(providerId, chunk.size(), () -> work.apply(chunk)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Schedule a single unit of work costing {@code cost} items for a provider
+     */
+    public <R> CompletableFuture<R> submit(String providerId, int cost,
+                                           Supplier<R> work) throws InterruptedException {
+        capacity.acquire();
+        CompletableFuture<R> future = new CompletableFuture<>();
+        lock.lock();
+        try {
+            ProviderQueue queue = queues.computeIfAbsent(providerId,
+                    id -> new ProviderQueue(id, weights.getOrDefault(id, defaultWeight)));
+            double start = Math.max(virtualTime, queue.lastFinish);
+            double finish = start + Math.max(1, cost) / queue.weight;
+            queue.lastFinish = finish;
+            queue.tasks.addLast(new Task(finish, () -> {
+                try {
+                    future.complete(work.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }));
+            queued.incrementAndGet();
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    private void workLoop() {
+        while (running) {
+            ProviderQueue queue;
+            Task task;
+            lock.lock();
+            try {
+                queue = nextEligible();
+                while (queue == null && running) {
+                    workAvailable.await();
+                    queue = nextEligible();
+                }
+                if (queue == null) {
+                    return;
+                }
+                task = queue.tasks.pollFirst();
+                queue.inFlight++;
+                virtualTime = task.finishTag;
+                queued.decrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                task.work.run();
+            } finally {
+                capacity.release();
+                lock.lock();
+                try {
+                    queue.inFlight--;
+                    if (queue.inFlight == 0 && queue.tasks.isEmpty()) {
+                        // Idle providers re-enter at the current virtual time and cannot hoard credit
+                        queues.remove(queue.providerId);
+                    }
+                    workAvailable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Provider whose head chunk has the smallest finish tag among providers below their in-flight cap
+     */
+    private ProviderQueue nextEligible() {
+        ProviderQueue best = null;
+        for (ProviderQueue queue : queues.values()) {
+            if (queue.tasks.isEmpty() || queue.inFlight >= maxInFlightPerProvider) {
+                continue;
+            }
+            if (best == null || queue.tasks.peekFirst().finishTag < best.tasks.peekFirst().finishTag) {
+                best = queue;
+            }
+        }
+        return best;
+    }
+
+    private static final class ProviderQueue {
+        private final String providerId;
+        private final double weight;
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        private double lastFinish;
+        private int inFlight;
+
+        private ProviderQueue(String providerId, double weight) {
+            this.providerId = providerId;
+            this.weight = weight > 0 ? weight : 1.0;
+        }
+    }
+
+    private record Task(double finishTag, Runnable work) {
+    }
+}
@@ -0,0 +1,436 @@
+package org.beckn.catalog.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.geo.ProviderLocation;
+import org.beckn.catalog.tags.ItemTag;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming scanner that extracts catalog items from a Beckn event without building a JSON tree.
+ *
+ * Only {@code id}, {@code descriptor.name}, the location references and the tag codes and values
+ * are read from each item;
+ * the item itself is kept as its verbatim text slice of the source message, which is persisted
+ * as {@code jsonb} and embedded in output events as-is. Of each provider, only {@code id},
+ * {@code items} and the {@code id}/{@code gps} of its {@code locations} are read.
+ */
+@Slf4j
+@Component
+public class BecknCatalogScanner {
+
+    private final JsonFactory jsonFactory;
+
+    public BecknCatalogScanner(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Scan {@code message.catalog.providers[].items[]} of a Beckn catalog event
+     *
+     * @param becknEventJson Raw Beckn catalog event JSON
+     * @return Providers with their raw items, in event order
+     */
+    public List<CatalogItemService.ProviderItems> scan(String becknEventJson) throws IOException {
+        return scan(becknEventJson, false);
+    }
+
+    /**
+     * Scan {@code message.catalog.providers[].items[]} of a Beckn catalog event
+     *
+     * @param becknEventJson Raw Beckn catalog event JSON
+     * @param requireStructure Reject events without {@code context.domain}, {@code context.action}
+     *                         and {@code message.catalog.providers}, checked in the same pass
+     * @return Providers with their raw items, in event order
+     * @throws IllegalArgumentException If the required structure is missing
+     */
+    public List<CatalogItemService.ProviderItems> scan(String becknEventJson,
+                                                       boolean requireStructure) throws IOException {
+        List<CatalogItemService.ProviderItems> providers = new ArrayList<>();
+        // [context has domain and action, catalog has providers]
+        boolean[] structure = new boolean[2];
+        try (JsonParser parser = jsonFactory.createParser(becknEventJson)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    if ("message".equals(field) && token == JsonToken.START_OBJECT) {
+                        scanObjectField(parser, "catalog", () -> {
+                            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                                structure[1] = scanCatalog(parser, becknEventJson, providers);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        });
+                    } else if (requireStructure && "context".equals(field) && token == JsonToken.START_OBJECT) {
+                        BecknContext context = scanContext(parser);
+                        structure[0] = context.domain() != null && context.action() != null;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        if (requireStructure && !(structure[0] && structure[1])) {
+            throw new IllegalArgumentException("Invalid Beckn catalog event format - missing required fields");
+        }
+        return providers;
+    }
+
+    /**
+     * Read only the {@code context} block of a Beckn event. Parsing stops as soon as the
+     * context has been read; fields before it are skipped without building any values.
+     *
+     * @param becknEventJson Raw Beckn event JSON
+     * @return The context, or {@link BecknContext#EMPTY} when absent
+     */
+    public BecknContext readContext(String becknEventJson) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(becknEventJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return BecknContext.EMPTY;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("context".equals(field) && token == JsonToken.START_OBJECT) {
+                    return scanContext(parser);
+                }
+                parser.skipChildren();
+            }
+        }
+        return BecknContext.EMPTY;
+    }
+
+    private BecknContext scanContext(JsonParser parser) throws IOException {
+        String domain = null;
+        String action = null;
+        String version = null;
+        String coreVersion = null;
+        String city = null;
+        String locationCity = null;
+        String bppId = null;
+        String messageId = null;
+        String timestamp = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!token.isScalarValue()) {
+                if ("location".equals(field) && token == JsonToken.START_OBJECT) {
+                    locationCity = scanLocationCity(parser);
+                } else {
+                    parser.skipChildren();
+                }
+                continue;
+            }
+            switch (field) {
+                case "domain" -> domain = parser.getValueAsString();
+                case "action" -> action = parser.getValueAsString();
+                case "version" -> version = parser.getValueAsString();
+                case "core_version" -> coreVersion = parser.getValueAsString();
+                case "city" -> city = parser.getValueAsString();
+                case "bpp_id" -> bppId = parser.getValueAsString();
+                case "message_id" -> messageId = parser.getValueAsString();
+                case "timestamp" -> timestamp = parser.getValueAsString();
+                default -> {
+                    // not needed
+                }
+            }
+        }
+        return new BecknContext(domain, action, coreVersion != null ? coreVersion : version,
+                city != null ? city : locationCity, bppId, messageId, timestamp);
+    }
+
+    /**
+     * context.location.city.code (Beckn 1.1 moved city into location)
+     */
+    private String scanLocationCity(JsonParser parser) throws IOException {
+        String[] code = {null};
+        scanObjectField(parser, "city", () -> {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                scanObjectField(parser, "code", () -> {
+                    if (parser.currentToken().isScalarValue()) {
+                        code[0] = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                });
+            } else {
+                parser.skipChildren();
+            }
+        });
+        return code[0];
+    }
+
+    /**
+     * Scan the providers of a catalog positioned at its START_OBJECT
+     *
+     * @return Whether the catalog has a providers field
+     */
+    private boolean scanCatalog(JsonParser parser, String source,
+                                List<CatalogItemService.ProviderItems> providers) throws IOException {
+        boolean hasProviders = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            hasProviders |= "providers".equals(field);
+            if ("providers".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        scanProvider(parser, source, providers);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return hasProviders;
+    }
+
+    private void scanProvider(JsonParser parser, String source,
+                              List<CatalogItemService.ProviderItems> providers) throws IOException {
+        String providerId = "";
+        List<CatalogItem> items = new ArrayList<>();
+        List<String[]> locations = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field) && token.isScalarValue()) {
+                providerId = textOrEmpty(parser);
+            } else if ("items".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        items.add(scanItem(parser, source));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("locations".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        locations.add(scanLocation(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (providerId.isEmpty()) {
+            log.warn("Skipping provider with missing ID");
+            return;
+        }
+
+        // The provider id may follow its items in the source, so assign it afterwards
+        List<CatalogItem> validItems = new ArrayList<>(items.size());
+        for (CatalogItem item : items) {
+            if (item.getItemId().isEmpty()) {
+                log.warn("Skipping item with missing ID for provider: {}", providerId);
+                continue;
+            }
+            item.setProviderId(providerId);
+            validItems.add(item);
+        }
+        List<ProviderLocation> providerLocations = new ArrayList<>(locations.size());
+        for (String[] location : locations) {
+            ProviderLocation providerLocation = ProviderLocation.of(providerId, location[0], location[1]);
+            if (providerLocation != null) {
+                providerLocations.add(providerLocation);
+            } else {
+                log.debug("Skipping location {} of provider {} without usable gps", location[0], providerId);
+            }
+        }
+        providers.add(new CatalogItemService.ProviderItems(providerId, validItems, providerLocations));
+    }
+
+    /**
+     * Read id and gps of a location positioned at its START_OBJECT
+     */
+    private String[] scanLocation(JsonParser parser) throws IOException {
+        String[] location = new String[2];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field) && token.isScalarValue()) {
+                location[0] = parser.getValueAsString();
+            } else if ("gps".equals(field) && token.isScalarValue()) {
+                location[1] = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return location;
+    }
+
+    /**
+     * Read id, descriptor.name, location references and tags of an item positioned at its
+     * START_OBJECT and capture its source slice
+     */
+    private CatalogItem scanItem(JsonParser parser, String source) throws IOException {
+        int start = (int) parser.currentTokenLocation().getCharOffset();
+        String itemId = "";
+        String[] itemName = {null};
+        List<String> locationIds = new ArrayList<>(1);
+        List<ItemTag> tags = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field) && token.isScalarValue()) {
+                itemId = textOrEmpty(parser);
+            } else if ("descriptor".equals(field) && token == JsonToken.START_OBJECT) {
+                scanObjectField(parser, "name", () -> {
+                    if (parser.currentToken().isScalarValue()) {
+                        String name = textOrEmpty(parser);
+                        itemName[0] = name.isEmpty() ? null : name;
+                    } else {
+                        parser.skipChildren();
+                    }
+                });
+            } else if ("location_id".equals(field) && token.isScalarValue()) {
+                addLocationId(locationIds, parser.getValueAsString());
+            } else if ("tags".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        scanTagGroup(parser, tags);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("location_ids".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token.isScalarValue()) {
+                        addLocationId(locationIds, parser.getValueAsString());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        int end = (int) parser.currentLocation().getCharOffset();
+
+        CatalogItem catalogItem = new CatalogItem();
+        catalogItem.setItemId(itemId);
+        catalogItem.setItemName(itemName[0]);
+        catalogItem.setRawItemData(source.substring(start, end));
+        catalogItem.setLocationIds(locationIds);
+        catalogItem.setTags(tags);
+        return catalogItem;
+    }
+
+    /**
+     * Read the tags of one tag group ({@code descriptor.code} or {@code code}, and {@code list[]})
+     * positioned at its START_OBJECT
+     */
+    private void scanTagGroup(JsonParser parser, List<ItemTag> tags) throws IOException {
+        String[] category = {null, null};
+        List<String[]> entries = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("list".equals(field) && token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        entries.add(scanTagEntry(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                scanCode(parser, field, token, category);
+            }
+        }
+
+        // The group code may follow its list in the source, so build the tags afterwards
+        String categoryCode = ItemTag.code(category[0], category[1]);
+        for (String[] entry : entries) {
+            ItemTag tag = ItemTag.of(categoryCode, ItemTag.code(entry[0], entry[1]), entry[2]);
+            if (tag != null && !tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+    }
+
+    /**
+     * Read {descriptor.code, code, value} of a tag list entry positioned at its START_OBJECT
+     */
+    private String[] scanTagEntry(JsonParser parser) throws IOException {
+        String[] entry = new String[3];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("value".equals(field) && token.isScalarValue()) {
+                entry[2] = parser.getValueAsString();
+            } else {
+                scanCode(parser, field, token, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Store descriptor.code into codes[0] and a plain code field into codes[1]; skip anything else
+     */
+    private void scanCode(JsonParser parser, String field, JsonToken token, String[] codes) throws IOException {
+        if ("descriptor".equals(field) && token == JsonToken.START_OBJECT) {
+            scanObjectField(parser, "code", () -> {
+                if (parser.currentToken().isScalarValue()) {
+                    codes[0] = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            });
+        } else if ("code".equals(field) && token.isScalarValue()) {
+            codes[1] = parser.getValueAsString();
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private static void addLocationId(List<String> locationIds, String locationId) {
+        if (locationId != null && !locationId.isEmpty() && !locationIds.contains(locationId)) {
+            locationIds.add(locationId);
+        }
+    }
+
+    /**
+     * Walk the fields of the current object, handing the value of {@code wanted} to the handler
+     * and skipping everything else. The handler must consume the value it is given.
+     */
+    private void scanObjectField(JsonParser parser, String wanted, FieldHandler handler) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (wanted.equals(field)) {
+                handler.handle();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static String textOrEmpty(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        return text != null ? text : "";
+    }
+
+    @FunctionalInterface
+    private interface FieldHandler {
+        void handle() throws IOException;
+    }
+}
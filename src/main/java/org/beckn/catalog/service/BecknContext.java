@@ -0,0 +1,18 @@
+package org.beckn.catalog.service;
+
+/**
+ * Fields of a Beckn {@code context} block used for routing, deduplication and versioning
+ *
+ * @param domain context.domain
+ * @param action context.action
+ * @param coreVersion context.core_version, falling back to context.version
+ * @param city context.city (or context.location.city.code)
+ * @param bppId context.bpp_id
+ * @param messageId context.message_id
+ * @param timestamp context.timestamp as sent (ISO-8601)
+ */
+public record BecknContext(String domain, String action, String coreVersion, String city,
+                           String bppId, String messageId, String timestamp) {
+
+    public static final BecknContext EMPTY = new BecknContext(null, null, null, null, null, null, null);
+}
@@ -0,0 +1,115 @@
+package org.beckn.catalog.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk item writer that isolates failing items instead of poisoning the whole transaction.
+ *
+ * Items are written in batches of {@code catalog.processing.batch-size}, each under a JDBC
+ * savepoint. When a batch fails it is rolled back to its savepoint and bisected recursively
+ * until the offending items are isolated; everything else still commits in bulk statements.
+ * Isolating k bad items in a batch of n costs O(k log n) extra statements.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogItemBulkWriter {
+
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.processing.batch-size:100}")
+    private int batchSize;
+
+    private Counter staleItems;
+
+    @PostConstruct
+    public void init() {
+        staleItems = Counter.builder("catalog.items.stale.skipped")
+                .description("Items not written because a same-or-newer version was already stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Upsert items, bisecting failed batches under savepoints.
+     * Must join an existing transaction, since savepoints only exist within one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BulkWriteResult write(List<CatalogItem> items) {
+        BulkWriteResult result = new BulkWriteResult(new ArrayList<>(items.size()), new ArrayList<>());
+        for (int from = 0; from < items.size(); from += batchSize) {
+            writeBisecting(items.subList(from, Math.min(items.size(), from + batchSize)), result);
+        }
+        if (!result.failed().isEmpty()) {
+            log.warn("Bulk write isolated {} failed items out of {}", result.failed().size(), items.size());
+        }
+        return result;
+    }
+
+    private void writeBisecting(List<CatalogItem> batch, BulkWriteResult result) {
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) connection -> connection.setSavepoint());
+        try {
+            CatalogItemJdbcRepository.UpsertResult upserted = catalogItemJdbcRepository.upsertAll(batch);
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.releaseSavepoint(savepoint);
+                return null;
+            });
+            result.stored().addAll(upserted.stored());
+            if (upserted.stale() > 0) {
+                staleItems.increment(upserted.stale());
+                log.info("Skipped {} stale items older than the stored version", upserted.stale());
+            }
+        } catch (RuntimeException e) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.rollback(savepoint);
+                return null;
+            });
+
+            if (batch.size() == 1) {
+                CatalogItem item = batch.get(0);
+                String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.error("Failed to store catalog item {}: {}", item.getItemId(), reason);
+                result.failed().add(new FailedItem(item, reason, e));
+                return;
+            }
+
+            log.debug("Batch of {} items failed, bisecting: {}", batch.size(), e.getMessage());
+            int middle = batch.size() / 2;
+            writeBisecting(batch.subList(0, middle), result);
+            writeBisecting(batch.subList(middle, batch.size()), result);
+        }
+    }
+
+    /**
+     * Outcome of a bulk write
+     *
+     * @param stored Items that were written, with database timestamps
+     * @param failed Items that could not be written, with the reason
+     */
+    public record BulkWriteResult(List<CatalogItem> stored, List<FailedItem> failed) {
+    }
+
+    /**
+     * Item isolated as the cause of a failed batch
+     */
+    public record FailedItem(CatalogItem item, String reason, Exception cause) {
+    }
+}
@@ -1,17 +1,35 @@
 package org.beckn.catalog.service;
 
+import org.beckn.catalog.analytics.ProviderLoadTracker;
 import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.geo.ProviderLocation;
+import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.messaging.producer.EventProducer;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
 import org.beckn.catalog.repository.CatalogItemRepository;
+import org.beckn.catalog.repository.ItemTagJdbcRepository;
+import org.beckn.catalog.repository.ProviderLocationJdbcRepository;
+import org.beckn.catalog.tags.ItemTag;
+import org.beckn.catalog.tags.TagDictionary;
+import org.beckn.catalog.tags.TagFilter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for processing Beckn catalog events and managing catalog items
@@ -23,6 +41,24 @@ public class CatalogItemService {
 
     private final CatalogItemRepository catalogItemRepository;
     private final ObjectMapper objectMapper;
+    private final CatalogEventProducer catalogEventProducer;
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+    private final BecknCatalogScanner catalogScanner;
+    private final CatalogItemBulkWriter catalogItemBulkWriter;
+    private final EventProducer eventProducer;
+    private final ProviderLocationJdbcRepository providerLocationRepository;
+    private final ItemTagJdbcRepository itemTagRepository;
+    private final TagDictionary tagDictionary;
+    private final ObjectProvider<ProviderLoadTracker> providerLoadTracker;
+
+    @Value("${catalog.processing.raw-json:true}")
+    private boolean rawJsonEnabled;
+
+    @Value("${catalog.versioning.enabled:true}")
+    private boolean versioningEnabled;
+
+    @Value("${catalog.tags.enabled:true}")
+    private boolean tagsEnabled;
 
     /**
      * Process a Beckn catalog event and extract/store catalog items
@@ -32,10 +68,86 @@ public class CatalogItemService {
      */
     @Transactional
     public List<CatalogItem> processBecknCatalogEvent(String becknEventJson) {
+        return processBecknCatalogEvent(becknEventJson, null, readContext(becknEventJson));
+    }
+
+    /**
+     * Process a Beckn catalog event that has already been parsed (e.g. for validation)
+     * 
+     * @param becknEventJson Raw Beckn catalog event JSON
+     * @param parsedEvent Parsed event tree, reused instead of parsing again; may be null
+     * @param context Context block of the event, already read
+     * @return List of stored CatalogItem entities
+     */
+    @Transactional
+    public List<CatalogItem> processBecknCatalogEvent(String becknEventJson, JsonNode parsedEvent,
+                                                      BecknContext context) {
         log.info("Processing Beckn catalog event");
         
         try {
-            JsonNode rootNode = objectMapper.readTree(becknEventJson);
+            List<ProviderItems> providers = splitByProvider(becknEventJson, parsedEvent, context);
+            storeProviderLocations(providers);
+            List<CatalogItem> savedItems = new ArrayList<>();
+            ProviderLoadTracker loadTracker = providerLoadTracker.getIfAvailable();
+            int eventItems = providers.stream().mapToInt(provider -> provider.items().size()).sum();
+            
+            // Process each provider
+            for (ProviderItems provider : providers) {
+                log.info("Processing provider: {}", provider.providerId());
+                if (loadTracker != null) {
+                    loadTracker.recordEvent(provider.providerId(), provider.items(), becknEventJson.length(), eventItems);
+                }
+                long start = System.nanoTime();
+                savedItems.addAll(processProviderItems(provider.providerId(), provider.items()));
+                if (loadTracker != null) {
+                    loadTracker.recordProcessingTime(provider.providerId(), System.nanoTime() - start);
+                }
+            }
+            
+            log.info("Successfully processed {} catalog items from Beckn event", savedItems.size());
+            return savedItems;
+            
+        } catch (IllegalArgumentException e) {
+            // Invalid event, reported as is
+            throw e;
+        } catch (Exception e) {
+            log.error("Error processing Beckn catalog event: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to process Beckn catalog event", e);
+        }
+    }
+
+    /**
+     * Split a Beckn catalog event into the extracted items of each provider. With raw JSON
+     * processing the event is scanned once, checking its required structure in the same pass.
+     * 
+     * @param becknEventJson Raw Beckn catalog event JSON
+     * @param parsedEvent Parsed event tree, reused instead of parsing again; may be null
+     * @param context Context block of the event, already read
+     * @return Providers with their items, in event order
+     * @throws IllegalArgumentException If a scanned event lacks the required Beckn structure
+     */
+    public List<ProviderItems> splitByProvider(String becknEventJson, JsonNode parsedEvent, BecknContext context) {
+        List<ProviderItems> providers = extractProviders(becknEventJson, parsedEvent);
+        OffsetDateTime sourceVersion = sourceVersion(context);
+        for (ProviderItems provider : providers) {
+            for (CatalogItem item : provider.items()) {
+                item.setSourceTimestamp(sourceVersion);
+                // Carried along for output topic routing
+                item.setDomain(context.domain());
+                item.setCity(context.city());
+            }
+        }
+        return providers;
+    }
+
+    private List<ProviderItems> extractProviders(String becknEventJson, JsonNode parsedEvent) {
+        try {
+            if (rawJsonEnabled) {
+                // Streaming scan: items keep their source text, no JSON tree is built
+                return catalogScanner.scan(becknEventJson, true);
+            }
+
+            JsonNode rootNode = parsedEvent != null ? parsedEvent : objectMapper.readTree(becknEventJson);
             JsonNode catalogNode = rootNode.path("message").path("catalog");
             JsonNode providersNode = catalogNode.path("providers");
             
@@ -44,9 +156,7 @@ public class CatalogItemService {
                 return new ArrayList<>();
             }
             
-            List<CatalogItem> savedItems = new ArrayList<>();
-            
-            // Process each provider
+            List<ProviderItems> providers = new ArrayList<>();
             for (JsonNode providerNode : providersNode) {
                 String providerId = providerNode.path("id").asText();
                 
@@ -55,33 +165,214 @@ public class CatalogItemService {
                     continue;
                 }
                 
-                log.info("Processing provider: {}", providerId);
-                
-                // Process items for this provider
+                List<ProviderLocation> locations = new ArrayList<>();
+                for (JsonNode locationNode : providerNode.path("locations")) {
+                    ProviderLocation location = ProviderLocation.of(providerId,
+                            locationNode.path("id").asText(), locationNode.path("gps").textValue());
+                    if (location != null) {
+                        locations.add(location);
+                    }
+                }
+
+                List<CatalogItem> items = new ArrayList<>();
                 JsonNode itemsNode = providerNode.path("items");
                 if (itemsNode.isArray()) {
                     for (JsonNode itemNode : itemsNode) {
-                        try {
-                            CatalogItem catalogItem = extractCatalogItem(providerId, itemNode);
-                            if (catalogItem != null) {
-                                CatalogItem savedItem = saveOrUpdateCatalogItem(catalogItem);
-                                savedItems.add(savedItem);
-                            }
-                        } catch (Exception e) {
-                            log.error("Error processing item for provider {}: {}", providerId, e.getMessage(), e);
-                            // Continue processing other items
+                        CatalogItem catalogItem = extractCatalogItem(providerId, itemNode);
+                        if (catalogItem != null) {
+                            items.add(catalogItem);
                         }
                     }
                 }
+                providers.add(new ProviderItems(providerId, items, locations));
             }
+            return providers;
             
-            log.info("Successfully processed {} catalog items from Beckn event", savedItems.size());
-            return savedItems;
-            
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error processing Beckn catalog event: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to process Beckn catalog event", e);
+            log.error("Error parsing Beckn catalog event: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to parse Beckn catalog event", e);
+        }
+    }
+
+    private BecknContext readContext(String becknEventJson) {
+        try {
+            return catalogScanner.readContext(becknEventJson);
+        } catch (Exception e) {
+            log.debug("Could not read Beckn context: {}", e.getMessage());
+            return BecknContext.EMPTY;
+        }
+    }
+
+    /**
+     * Version of the catalog event (context.timestamp), or null when versioning is disabled or it is missing
+     */
+    private OffsetDateTime sourceVersion(BecknContext context) {
+        if (!versioningEnabled || context.timestamp() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(context.timestamp());
+        } catch (Exception e) {
+            log.debug("Catalog event has no usable context.timestamp, storing unversioned: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store a batch of extracted items belonging to one provider
+     * 
+     * @param providerId Beckn provider ID
+     * @param items Items extracted from the catalog event
+     * @return List of stored CatalogItem entities
+     */
+    @Transactional
+    public List<CatalogItem> processProviderItems(String providerId, List<CatalogItem> items) {
+        // Bad items are isolated under savepoints so they cannot roll back the rest of the batch
+        CatalogItemBulkWriter.BulkWriteResult result = catalogItemBulkWriter.write(items);
+        // Stale items keep the links and tags of their stored version
+        storeItemLinks(result.stored());
+
+        // Failed items are reported once the rest is committed, without holding the connection on
+        // the broker; on rollback the caller routes the whole batch to the DLT instead
+        List<CatalogItemBulkWriter.FailedItem> failedItems = result.failed();
+        if (!failedItems.isEmpty()) {
+            afterCommit(() -> {
+                for (CatalogItemBulkWriter.FailedItem failed : failedItems) {
+                    sendItemToDltAsync(providerId, failed.item(), failed.reason(), failed.cause());
+                }
+            });
         }
+        return result.stored();
+    }
+
+    /**
+     * Replace the location links and indexed tags of items that were just stored
+     *
+     * @param storedItems Items written by the upsert (stale items excluded)
+     */
+    @Transactional
+    public void storeItemLinks(List<CatalogItem> storedItems) {
+        providerLocationRepository.replaceItemLocations(storedItems);
+        if (tagsEnabled) {
+            storeItemTags(storedItems);
+        }
+    }
+
+    /**
+     * Send items that could not be stored or published to the DLT, one record per item
+     *
+     * @param providerId Provider the items belong to
+     * @param items Items to route to the DLT
+     * @param cause Failure of the whole batch
+     */
+    public void sendItemsToDlt(String providerId, List<CatalogItem> items, Throwable cause) {
+        for (CatalogItem item : items) {
+            sendItemToDlt(providerId, item, cause.getMessage(), cause);
+        }
+    }
+
+    private void sendItemToDltAsync(String providerId, CatalogItem item, String reason, Throwable cause) {
+        try {
+            eventProducer.sendItemToDltAsync(
+                item.getItemId(),
+                catalogItemJdbcRepository.itemDataJson(item),
+                providerId,
+                reason,
+                cause.getClass().getName()
+            );
+        } catch (Exception e) {
+            log.error("Error sending failed item {} to DLT: {}", item.getItemId(), e.getMessage(), e);
+        }
+    }
+
+    private void sendItemToDlt(String providerId, CatalogItem item, String reason, Throwable cause) {
+        try {
+            eventProducer.sendItemToDlt(
+                item.getItemId(),
+                catalogItemJdbcRepository.itemDataJson(item),
+                providerId,
+                reason,
+                cause.getClass().getName()
+            );
+        } catch (Exception e) {
+            log.error("Error sending failed item {} to DLT: {}", item.getItemId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replace the indexed tags of stored items, interning new tag names
+     */
+    private void storeItemTags(List<CatalogItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Set<String> categories = new HashSet<>();
+        Set<String> codes = new HashSet<>();
+        Set<String> values = new HashSet<>();
+        List<String> itemIds = new ArrayList<>(items.size());
+        for (CatalogItem item : items) {
+            itemIds.add(item.getItemId());
+            for (ItemTag tag : item.getTags()) {
+                categories.add(tag.category());
+                codes.add(tag.code());
+                values.add(tag.value());
+            }
+        }
+        Map<String, Integer> categoryIds = tagDictionary.intern(TagDictionary.Kind.CATEGORY, categories);
+        Map<String, Integer> codeIds = tagDictionary.intern(TagDictionary.Kind.CODE, codes);
+        Map<String, Integer> valueIds = tagDictionary.intern(TagDictionary.Kind.VALUE, values);
+
+        List<ItemTagJdbcRepository.ItemTagIds> tags = new ArrayList<>();
+        for (CatalogItem item : items) {
+            for (ItemTag tag : item.getTags()) {
+                tags.add(new ItemTagJdbcRepository.ItemTagIds(item.getItemId(), categoryIds.get(tag.category()),
+                        codeIds.get(tag.code()), valueIds.get(tag.value())));
+            }
+        }
+        itemTagRepository.replaceItemTags(itemIds, tags);
+    }
+
+    /**
+     * Store the locations of the providers of a catalog event
+     */
+    @Transactional
+    public void storeProviderLocations(List<ProviderItems> providers) {
+        List<ProviderLocation> locations = new ArrayList<>();
+        for (ProviderItems provider : providers) {
+            locations.addAll(provider.locations());
+        }
+        int changed = providerLocationRepository.upsertAll(locations);
+        if (changed > 0) {
+            log.debug("Stored {} changed provider locations", changed);
+        }
+    }
+
+    /**
+     * Find items available within a radius of a point, nearest first
+     *
+     * @param latitude Latitude of the center in degrees
+     * @param longitude Longitude of the center in degrees
+     * @param radiusMeters Search radius in meters
+     * @param limit Maximum number of items to return
+     * @return Items with the nearest location they are available at and its distance
+     */
+    @Transactional(readOnly = true)
+    public List<ProviderLocationJdbcRepository.NearbyItem> findItemsNear(double latitude, double longitude,
+                                                                        double radiusMeters, int limit) {
+        List<ProviderLocationJdbcRepository.NearbyLocation> locations =
+                providerLocationRepository.findLocationsWithin(latitude, longitude, radiusMeters);
+        return providerLocationRepository.findItemsAt(locations, limit);
+    }
+
+    /**
+     * Rebuild an extracted item, with its location references and tags, from its Beckn item JSON
+     *
+     * @return The item, or null if the JSON has no item ID
+     */
+    public CatalogItem toCatalogItem(String providerId, JsonNode itemNode) {
+        return extractCatalogItem(providerId, itemNode);
     }
 
     /**
@@ -108,6 +399,8 @@ public class CatalogItemService {
             catalogItem.setItemName(itemName);
             catalogItem.setProviderId(providerId);
             catalogItem.setItemData(itemNode); // Store complete raw item JSON
+            catalogItem.setLocationIds(extractLocationIds(itemNode));
+            catalogItem.setTags(extractTags(itemNode));
             
             log.debug("Extracted catalog item: {} from provider: {}", itemId, providerId);
             return catalogItem;
@@ -119,39 +412,105 @@ public class CatalogItemService {
     }
 
     /**
-     * Save or update catalog item (upsert operation)
+     * Find items by tags, with facet counts over all matching items
+     *
+     * @param filter Tag filter; must not be empty
+     * @param limit Maximum number of items to return, in item ID order
+     * @param facetLimit Maximum number of facets to return, most frequent first
+     * @return Matching items, their total number, and the tag values they have
      */
-    @Transactional
-    public CatalogItem saveOrUpdateCatalogItem(CatalogItem catalogItem) {
-        try {
-            // Check if item already exists
-            Optional<CatalogItem> existingItem = catalogItemRepository.findById(catalogItem.getItemId());
-            
-            if (existingItem.isPresent()) {
-                // Update existing item
-                CatalogItem existing = existingItem.get();
-                existing.setItemName(catalogItem.getItemName());
-                existing.setProviderId(catalogItem.getProviderId());
-                existing.setItemData(catalogItem.getItemData());
-                existing.setUpdatedBy("system");
-                
-                log.debug("Updating existing catalog item: {}", catalogItem.getItemId());
-                return catalogItemRepository.save(existing);
-            } else {
-                // Create new item
-                log.debug("Creating new catalog item: {}", catalogItem.getItemId());
-                return catalogItemRepository.save(catalogItem);
+    @Transactional(readOnly = true)
+    public ItemTagJdbcRepository.TagSearchResult findItemsByTags(TagFilter filter, int limit, int facetLimit) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("Tag filter must not be empty, use findTagFacets for all items");
+        }
+        Set<String> categories = new HashSet<>();
+        Set<String> codes = new HashSet<>();
+        Set<String> values = new HashSet<>();
+        for (List<ItemTag> anyOf : filter.allOf()) {
+            for (ItemTag tag : anyOf) {
+                categories.add(tag.category());
+                codes.add(tag.code());
+                if (tag.value() != null) {
+                    values.add(tag.value());
+                }
+            }
+        }
+        Map<String, Integer> categoryIds = tagDictionary.find(TagDictionary.Kind.CATEGORY, categories);
+        Map<String, Integer> codeIds = tagDictionary.find(TagDictionary.Kind.CODE, codes);
+        Map<String, Integer> valueIds = tagDictionary.find(TagDictionary.Kind.VALUE, values);
+
+        List<List<ItemTagJdbcRepository.TagTerm>> allOf = new ArrayList<>(filter.allOf().size());
+        for (List<ItemTag> anyOf : filter.allOf()) {
+            List<ItemTagJdbcRepository.TagTerm> terms = new ArrayList<>(anyOf.size());
+            for (ItemTag tag : anyOf) {
+                Integer categoryId = categoryIds.get(tag.category());
+                Integer codeId = codeIds.get(tag.code());
+                Integer valueId = tag.value() != null ? valueIds.get(tag.value()) : null;
+                // Names that were never ingested cannot match anything
+                if (categoryId != null && codeId != null && (tag.value() == null || valueId != null)) {
+                    terms.add(new ItemTagJdbcRepository.TagTerm(categoryId, codeId, valueId));
+                }
+            }
+            if (terms.isEmpty()) {
+                return new ItemTagJdbcRepository.TagSearchResult(List.of(), 0, List.of());
+            }
+            allOf.add(terms);
+        }
+        return itemTagRepository.search(allOf, limit, facetLimit);
+    }
+
+    /**
+     * Most frequent tag values over all items
+     */
+    @Transactional(readOnly = true)
+    public List<ItemTagJdbcRepository.TagFacet> findTagFacets(int facetLimit) {
+        return itemTagRepository.findAllFacets(facetLimit);
+    }
+
+    /**
+     * Provider locations referenced by an item through location_id and/or location_ids
+     */
+    private static List<String> extractLocationIds(JsonNode itemNode) {
+        List<String> locationIds = new ArrayList<>(1);
+        String locationId = itemNode.path("location_id").asText();
+        if (!locationId.isEmpty()) {
+            locationIds.add(locationId);
+        }
+        for (JsonNode idNode : itemNode.path("location_ids")) {
+            String id = idNode.asText();
+            if (!id.isEmpty() && !locationIds.contains(id)) {
+                locationIds.add(id);
+            }
+        }
+        return locationIds;
+    }
+
+    /**
+     * Tags of an item: tags[].list[] with the group and tag codes taken from descriptor.code or code
+     */
+    private static List<ItemTag> extractTags(JsonNode itemNode) {
+        List<ItemTag> tags = new ArrayList<>();
+        for (JsonNode groupNode : itemNode.path("tags")) {
+            String category = codeOf(groupNode);
+            for (JsonNode entryNode : groupNode.path("list")) {
+                ItemTag tag = ItemTag.of(category, codeOf(entryNode), entryNode.path("value").asText(null));
+                if (tag != null && !tags.contains(tag)) {
+                    tags.add(tag);
+                }
             }
-            
-        } catch (Exception e) {
-            log.error("Error saving catalog item {}: {}", catalogItem.getItemId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to save catalog item: " + catalogItem.getItemId(), e);
         }
+        return tags;
+    }
+
+    private static String codeOf(JsonNode node) {
+        return ItemTag.code(node.path("descriptor").path("code").asText(null), node.path("code").asText(null));
     }
 
     /**
      * Find catalog item by ID
      */
+    @Transactional(readOnly = true)
     public Optional<CatalogItem> findById(String itemId) {
         return catalogItemRepository.findById(itemId);
     }
@@ -159,6 +518,7 @@ public class CatalogItemService {
     /**
      * Find all catalog items by provider ID
      */
+    @Transactional(readOnly = true)
     public List<CatalogItem> findByProviderId(String providerId) {
         return catalogItemRepository.findByProviderId(providerId);
     }
@@ -169,6 +529,7 @@ public class CatalogItemService {
     @Transactional
     public void deleteById(String itemId) {
         catalogItemRepository.deleteById(itemId);
+        publishTombstonesAfterCommit(List.of(itemId));
         log.info("Deleted catalog item: {}", itemId);
     }
 
@@ -177,14 +538,49 @@ public class CatalogItemService {
      */
     @Transactional
     public void deleteByProviderId(String providerId) {
+        List<String> itemIds = catalogItemRepository.findItemIdsByProviderId(providerId);
         catalogItemRepository.deleteByProviderId(providerId);
+        publishTombstonesAfterCommit(itemIds);
         log.info("Deleted all catalog items for provider: {}", providerId);
     }
 
+    /**
+     * Emit item state tombstones only once the delete is committed, so a rolled back
+     * delete never removes a live item from the compacted topic
+     */
+    private void publishTombstonesAfterCommit(List<String> itemIds) {
+        if (!itemIds.isEmpty()) {
+            afterCommit(() -> catalogEventProducer.publishItemTombstones(itemIds));
+        }
+    }
+
+    /**
+     * Run once the current transaction commits, or right away outside of a transaction
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * Get count of items by provider
      */
+    @Transactional(readOnly = true)
     public long getItemCountByProvider(String providerId) {
         return catalogItemRepository.countByProviderId(providerId);
     }
+
+    /**
+     * Extracted items and locations of a single provider within a catalog event
+     */
+    public record ProviderItems(String providerId, List<CatalogItem> items, List<ProviderLocation> locations) {
+    }
 }
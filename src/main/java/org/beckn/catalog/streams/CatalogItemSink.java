@@ -0,0 +1,125 @@
+package org.beckn.catalog.streams;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.metrics.PipelineMetrics;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.beckn.catalog.service.CatalogItemService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asynchronous Postgres sink of the Streams mode: upserts batches of committed item state
+ * records, so the database is off the critical path of event processing.
+ *
+ * Only the latest record per item of a poll is written. The upsert's version guard keeps
+ * redelivered or reordered batches from overwriting newer rows. Location links and tags of the
+ * stored items are replaced as in the listener engine. Failed batches are retried with backoff
+ * until the database is available again. Tombstones are skipped; the retention job deletes
+ * those rows itself.
+ */
+@Slf4j
+@Component
+@Profile("streams")
+public class CatalogItemSink {
+
+    public static final String LISTENER_ID = "catalogItemSink";
+
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+    private final CatalogItemService catalogItemService;
+    private final PipelineMetrics pipelineMetrics;
+    private final ObjectMapper objectMapper;
+    private final Counter staleSkipped;
+
+    @Value("${catalog.processing.batch-size:100}")
+    private int batchSize;
+
+    public CatalogItemSink(CatalogItemJdbcRepository catalogItemJdbcRepository, CatalogItemService catalogItemService,
+                           PipelineMetrics pipelineMetrics, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.catalogItemJdbcRepository = catalogItemJdbcRepository;
+        this.catalogItemService = catalogItemService;
+        this.pipelineMetrics = pipelineMetrics;
+        this.objectMapper = objectMapper;
+        this.staleSkipped = meterRegistry.counter("catalog.items.stale.skipped");
+    }
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = "${topics.item-state}",
+        groupId = "${catalog.streams.sink.group-id:catalog-item-sink}",
+        containerFactory = "itemSinkContainerFactory",
+        // Transactional output of the topology becomes visible only once committed
+        properties = "isolation.level=read_committed"
+    )
+    public void write(List<ConsumerRecord<String, String>> records) {
+        Map<String, CatalogItem> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            CatalogItem item = toCatalogItem(record);
+            if (item != null) {
+                latest.remove(item.getItemId());
+                latest.put(item.getItemId(), item);
+            }
+        }
+
+        List<CatalogItem> items = new ArrayList<>(latest.values());
+        int stored = 0;
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<CatalogItem> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            CatalogItemJdbcRepository.UpsertResult result = pipelineMetrics.time(PipelineMetrics.STAGE_PERSIST, () -> {
+                CatalogItemJdbcRepository.UpsertResult upserted = catalogItemJdbcRepository.upsertAll(chunk);
+                catalogItemService.storeItemLinks(upserted.stored());
+                return upserted;
+            });
+            staleSkipped.increment(result.stale());
+            stored += result.stored().size();
+        }
+        log.debug("Sink stored {} of {} item state records", stored, records.size());
+    }
+
+    /**
+     * Rebuild the item from an item event and the version/domain headers of the topology
+     */
+    private CatalogItem toCatalogItem(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            // Same extraction as the tree path, so location references and tags come along
+            CatalogItem item = catalogItemService.toCatalogItem(event.path("provider_id").asText(),
+                    event.path("item_data"));
+            if (item == null) {
+                return null;
+            }
+            item.setItemId(event.path("item_id").asText(record.key()));
+            String sourceTimestamp = header(record, ChangedItemProcessor.HEADER_SOURCE_TIMESTAMP);
+            item.setSourceTimestamp(sourceTimestamp != null ? OffsetDateTime.parse(sourceTimestamp) : null);
+            item.setDomain(header(record, ChangedItemProcessor.HEADER_DOMAIN));
+            return item;
+        } catch (Exception e) {
+            log.error("Skipping unreadable item state record {} at offset {}: {}",
+                    record.key(), record.offset(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
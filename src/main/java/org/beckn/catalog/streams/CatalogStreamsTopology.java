@@ -0,0 +1,228 @@
+package org.beckn.catalog.streams;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Branched;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.processor.api.RecordMetadata;
+import org.apache.kafka.streams.state.Stores;
+import org.beckn.catalog.claimcheck.ClaimCheckService;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.messaging.consumer.CatalogEventParser;
+import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.messaging.producer.EventProducer;
+import org.beckn.catalog.messaging.producer.ItemEventWriter;
+import org.beckn.catalog.messaging.producer.OutputTopicRouter;
+import org.beckn.catalog.metrics.PipelineMetrics;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.beckn.catalog.service.BecknContext;
+import org.beckn.catalog.service.CatalogItemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka Streams equivalent of {@link org.beckn.catalog.messaging.consumer.EventListener} and
+ * {@link CatalogItemService} (profile {@code streams}):
+ * <pre>
+ * events.input -> parse/validate -+-> DLT + error event (invalid catalogs)
+ *                                 +-> items, repartitioned by item_id -> changed-item filter (state store)
+ *                                       -> routed item events + item state topic
+ * item state tombstones ----------------^
+ * </pre>
+ * The item state store is RocksDB-backed and restored from its changelog topic, so a task moved
+ * to another instance needs no database reads. Postgres is written asynchronously by
+ * {@link CatalogItemSink} from the item state topic. Tombstones on that topic (retention, deletes)
+ * are fed back into the store, so a deleted item is stored again on its next publish.
+ */
+@Slf4j
+@Component
+@Profile("streams")
+@RequiredArgsConstructor
+public class CatalogStreamsTopology {
+
+    public static final String ITEM_STATE_STORE = "catalog-item-state";
+
+    private final CatalogEventParser eventParser;
+    private final CatalogItemService catalogItemService;
+    private final CatalogItemJdbcRepository catalogItemJdbcRepository;
+    private final CatalogEventProducer catalogEventProducer;
+    private final EventProducer eventProducer;
+    private final ClaimCheckService claimCheckService;
+    private final OutputTopicRouter outputTopicRouter;
+    private final ItemEventWriter itemEventWriter;
+    private final PipelineMetrics pipelineMetrics;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${topics.input}")
+    private String inputTopic;
+
+    @Value("${topics.output}")
+    private String outputTopic;
+
+    @Value("${topics.dlt}")
+    private String dltTopic;
+
+    @Value("${topics.item-state}")
+    private String itemStateTopic;
+
+    @Autowired
+    public void buildTopology(StreamsBuilder builder) {
+        Serde<ItemRecord> itemSerde = jsonSerde(ItemRecord.class);
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(ITEM_STATE_STORE), Serdes.String(), jsonSerde(ItemState.class)));
+
+        Map<String, KStream<String, ParsedCatalog>> catalogs = builder
+                .stream(inputTopic, Consumed.with(Serdes.String(), Serdes.String()))
+                .processValues(CatalogParser::new, Named.as("parse-catalog"))
+                .split(Named.as("catalog-"))
+                .branch((key, catalog) -> catalog.error() != null, Branched.as("failed"))
+                .defaultBranch(Branched.as("valid"));
+
+        KStream<String, ParsedCatalog> failed = catalogs.get("catalog-failed");
+        failed.processValues(DeadLetter::new, Named.as("dead-letter"))
+                .to(dltTopic, Produced.with(Serdes.String(), Serdes.String()));
+        failed.map((key, catalog) -> errorEvent(catalog), Named.as("error-event"))
+                .to(outputTopic, Produced.with(Serdes.String(), Serdes.String()));
+
+        KStream<String, ItemRecord> deletedItems = builder
+                .stream(itemStateTopic, Consumed.with(Serdes.String(), Serdes.String()))
+                .filter((itemId, value) -> itemId != null && value == null, Named.as("item-tombstones"))
+                .mapValues((itemId, value) -> ItemRecord.tombstone(itemId), Named.as("deleted-items"));
+
+        KStream<String, ItemEvent> changedItems = catalogs.get("catalog-valid")
+                .flatMap((key, catalog) -> catalog.items().stream()
+                        .map(item -> KeyValue.pair(item.itemId(), item))
+                        .toList(), Named.as("split-items"))
+                .merge(deletedItems, Named.as("items-and-deletes"))
+                .repartition(Repartitioned.<String, ItemRecord>as("items-by-id")
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(itemSerde))
+                .process(() -> new ChangedItemProcessor(itemEventWriter, outputTopicRouter, ITEM_STATE_STORE,
+                        meterRegistry), Named.as("changed-items"), ITEM_STATE_STORE);
+
+        changedItems.to((key, event, recordContext) -> event.topic(),
+                Produced.with(Serdes.String(), ItemEvent.serde())
+                        .withStreamPartitioner((topic, key, event, partitions) ->
+                                outputTopicRouter.partitionFor(event.providerId(), partitions)));
+        changedItems.mapValues(ItemEvent::json, Named.as("item-state"))
+                .to(itemStateTopic, Produced.with(Serdes.String(), Serdes.String()));
+    }
+
+    /**
+     * Resolve, parse, validate and extract a catalog event; failures are carried as values
+     */
+    private ParsedCatalog parse(String value, Headers headers) {
+        try {
+            String resolved = claimCheckService.resolve(value, headers);
+            BecknContext context = eventParser.readContext(resolved);
+            JsonNode event = pipelineMetrics.time(PipelineMetrics.STAGE_VALIDATE,
+                    () -> eventParser.parseAndValidate(resolved));
+            List<CatalogItemService.ProviderItems> providers = catalogItemService.splitByProvider(resolved, event, context);
+            storeProviderLocations(providers);
+            List<ItemRecord> items = new ArrayList<>();
+            for (CatalogItemService.ProviderItems provider : providers) {
+                for (CatalogItem item : provider.items()) {
+                    items.add(ItemRecord.of(item, catalogItemJdbcRepository.itemDataJson(item)));
+                }
+            }
+            return new ParsedCatalog(value, items, null, null);
+        } catch (Exception e) {
+            log.error("Error processing native Beckn catalog event: {}", e.getMessage(), e);
+            return new ParsedCatalog(value, List.of(), String.valueOf(e.getMessage()), e.getClass().getName());
+        }
+    }
+
+    /**
+     * Provider locations are not part of the item events, so they are upserted here; only changed
+     * rows are written. A database outage must not fail the event: its locations are then stored
+     * with the provider's next catalog.
+     */
+    private void storeProviderLocations(List<CatalogItemService.ProviderItems> providers) {
+        try {
+            catalogItemService.storeProviderLocations(providers);
+        } catch (Exception e) {
+            log.warn("Could not store provider locations, keeping the catalog event: {}", e.getMessage());
+        }
+    }
+
+    private KeyValue<String, String> errorEvent(ParsedCatalog catalog) {
+        String providerId = eventParser.extractProviderId(catalog.value());
+        try {
+            return KeyValue.pair(providerId,
+                    catalogEventProducer.errorEventRecord(providerId, catalog.error(), catalog.value()).value());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize catalog processing error event", e);
+        }
+    }
+
+    private <T> Serde<T> jsonSerde(Class<T> type) {
+        return new JsonSerde<>(type, objectMapper).noTypeInfo().ignoreTypeHeaders();
+    }
+
+    /**
+     * A catalog event parsed into items, or the reason it was rejected
+     */
+    record ParsedCatalog(String value, List<ItemRecord> items, String error, String errorClass) {
+    }
+
+    private class CatalogParser implements FixedKeyProcessor<String, String, ParsedCatalog> {
+
+        private FixedKeyProcessorContext<String, ParsedCatalog> context;
+
+        @Override
+        public void init(FixedKeyProcessorContext<String, ParsedCatalog> context) {
+            this.context = context;
+        }
+
+        @Override
+        public void process(FixedKeyRecord<String, String> record) {
+            context.forward(record.withValue(parse(record.value(), record.headers())));
+        }
+    }
+
+    /**
+     * The original record with the same DLT headers (and claim check) as the listener engine
+     */
+    private class DeadLetter implements FixedKeyProcessor<String, ParsedCatalog, String> {
+
+        private FixedKeyProcessorContext<String, String> context;
+
+        @Override
+        public void init(FixedKeyProcessorContext<String, String> context) {
+            this.context = context;
+        }
+
+        @Override
+        public void process(FixedKeyRecord<String, ParsedCatalog> record) {
+            RecordMetadata source = context.recordMetadata().orElseThrow();
+            ParsedCatalog catalog = record.value();
+            ProducerRecord<String, String> dlt = eventProducer.dltRecord(record.key(), catalog.value(),
+                    source.topic(), source.partition(), source.offset(), catalog.error(), catalog.errorClass());
+            context.forward(record.withValue(dlt.value()).withHeaders(dlt.headers()));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.beckn.catalog.streams;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.messaging.producer.ItemEventWriter;
+import org.beckn.catalog.messaging.producer.OutputTopicRouter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+/**
+ * Forwards an item event only when the item differs from the last forwarded version.
+ *
+ * Items are compared by content hash against the item state store (keyed by item_id, so the
+ * input must be partitioned by item_id). As in the database upsert, an item whose source version
+ * is not strictly newer than the stored one is dropped as stale. A newer version with identical
+ * content only advances the stored version. A tombstone removes the item from the store, so its
+ * next version is forwarded even if unchanged.
+ */
+public class ChangedItemProcessor implements Processor<String, ItemRecord, String, ItemEvent> {
+
+    /** Item source version and domain on forwarded records, read by the Postgres sink */
+    public static final String HEADER_SOURCE_TIMESTAMP = "x-source-timestamp";
+    public static final String HEADER_DOMAIN = "x-domain";
+
+    private final ItemEventWriter itemEventWriter;
+    private final OutputTopicRouter outputTopicRouter;
+    private final String storeName;
+    private final Counter changed;
+    private final Counter unchanged;
+    private final Counter stale;
+    private final Counter deleted;
+
+    private ProcessorContext<String, ItemEvent> context;
+    private KeyValueStore<String, ItemState> store;
+
+    public ChangedItemProcessor(ItemEventWriter itemEventWriter, OutputTopicRouter outputTopicRouter,
+                                String storeName, MeterRegistry meterRegistry) {
+        this.itemEventWriter = itemEventWriter;
+        this.outputTopicRouter = outputTopicRouter;
+        this.storeName = storeName;
+        this.changed = outcomeCounter(meterRegistry, "changed");
+        this.unchanged = outcomeCounter(meterRegistry, "unchanged");
+        this.stale = outcomeCounter(meterRegistry, "stale");
+        this.deleted = outcomeCounter(meterRegistry, "deleted");
+    }
+
+    @Override
+    public void init(ProcessorContext<String, ItemEvent> context) {
+        this.context = context;
+        this.store = context.getStateStore(storeName);
+    }
+
+    @Override
+    public void process(Record<String, ItemRecord> record) {
+        ItemRecord item = record.value();
+        if (item.isTombstone()) {
+            store.delete(record.key());
+            deleted.increment();
+            return;
+        }
+
+        ItemState previous = store.get(record.key());
+        String contentHash = item.contentHash();
+
+        if (previous != null) {
+            if (isNotNewer(item.sourceTimestamp(), previous.sourceTimestamp())) {
+                stale.increment();
+                return;
+            }
+            if (previous.contentHash().equals(contentHash)) {
+                if (item.sourceTimestamp() != null) {
+                    store.put(record.key(), new ItemState(contentHash, item.sourceTimestamp(), previous.createdAt()));
+                }
+                unchanged.increment();
+                return;
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdAt = previous != null ? previous.createdAt() : now;
+        store.put(record.key(), new ItemState(contentHash, item.sourceTimestamp(), createdAt));
+
+        CatalogItem catalogItem = item.toCatalogItem(createdAt, now);
+        ItemEvent event = new ItemEvent(outputTopicRouter.topicFor(catalogItem), item.providerId(),
+                itemEventWriter.write(catalogItem, now.toString()));
+        RecordHeaders headers = new RecordHeaders();
+        if (item.sourceTimestamp() != null) {
+            headers.add(HEADER_SOURCE_TIMESTAMP, item.sourceTimestamp().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (item.domain() != null) {
+            headers.add(HEADER_DOMAIN, item.domain().getBytes(StandardCharsets.UTF_8));
+        }
+        context.forward(record.withValue(event).withHeaders(headers));
+        changed.increment();
+    }
+
+    /**
+     * Whether both versions are known and the incoming one is not strictly newer
+     */
+    private static boolean isNotNewer(OffsetDateTime incoming, OffsetDateTime stored) {
+        return incoming != null && stored != null && !incoming.isAfter(stored);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.streams.items")
+                .description("Items compared against the item state store, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package org.beckn.catalog.streams;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Item event JSON together with its routed output topic and provider (for partitioning)
+ */
+public record ItemEvent(String topic, String providerId, String json) {
+
+    /**
+     * Writes only the event JSON; item events are never read back by the topology
+     */
+    static Serde<ItemEvent> serde() {
+        return Serdes.serdeFrom(
+                (topic, event) -> event != null ? event.json().getBytes(StandardCharsets.UTF_8) : null,
+                (topic, data) -> {
+                    throw new UnsupportedOperationException("Item events are not consumed by the topology");
+                });
+    }
+}
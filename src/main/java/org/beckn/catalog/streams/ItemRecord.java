@@ -0,0 +1,66 @@
+package org.beckn.catalog.streams;
+
+import org.beckn.catalog.entity.CatalogItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * An extracted catalog item as it flows through the Streams topology (JSON on the repartition topic)
+ *
+ * @param itemData Item JSON as it would be stored in item_data; null for a {@link #tombstone(String) tombstone}
+ */
+public record ItemRecord(String itemId, String itemName, String providerId, String domain, String city,
+                         OffsetDateTime sourceTimestamp, String itemData) {
+
+    static ItemRecord of(CatalogItem item, String itemData) {
+        return new ItemRecord(item.getItemId(), item.getItemName(), item.getProviderId(), item.getDomain(),
+                item.getCity(), item.getSourceTimestamp(), itemData);
+    }
+
+    /**
+     * Marker for an item deleted from Postgres, so the item state store forgets it
+     */
+    static ItemRecord tombstone(String itemId) {
+        return new ItemRecord(itemId, null, null, null, null, null, null);
+    }
+
+    boolean isTombstone() {
+        return itemData == null;
+    }
+
+    /**
+     * SHA-256 (Base64) over the stored columns, so an unchanged re-publish hashes the same
+     */
+    String contentHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[] {itemName, providerId, domain, itemData}) {
+                if (field != null) {
+                    digest.update(field.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    CatalogItem toCatalogItem(OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId(itemId);
+        item.setItemName(itemName);
+        item.setProviderId(providerId);
+        item.setDomain(domain);
+        item.setCity(city);
+        item.setSourceTimestamp(sourceTimestamp);
+        item.setRawItemData(itemData);
+        item.setCreatedAt(createdAt);
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+}
@@ -0,0 +1,13 @@
+package org.beckn.catalog.streams;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Last forwarded state of an item, kept in the item state store
+ *
+ * @param contentHash {@link ItemRecord#contentHash()} of the last forwarded version
+ * @param sourceTimestamp Newest source version seen; null when unversioned
+ * @param createdAt When the item was first forwarded, published as created_at
+ */
+public record ItemState(String contentHash, OffsetDateTime sourceTimestamp, OffsetDateTime createdAt) {
+}
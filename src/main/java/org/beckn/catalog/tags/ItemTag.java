@@ -0,0 +1,39 @@
+package org.beckn.catalog.tags;
+
+/**
+ * One Beckn item tag value: {@code tags[].descriptor.code}, {@code tags[].list[].descriptor.code}
+ * and {@code tags[].list[].value}, e.g. features / 5g / Y
+ *
+ * @param category Tag group code
+ * @param code Code of the tag within its group
+ * @param value Tag value; in a {@link TagFilter}, null matches any value
+ */
+public record ItemTag(String category, String code, String value) {
+
+    /** Longer names are not indexed; they match the dictionary column size */
+    public static final int MAX_LENGTH = 255;
+
+    /**
+     * Tag extracted from an item
+     *
+     * @return The tag, or null when a part is missing or too long to be indexed
+     */
+    public static ItemTag of(String category, String code, String value) {
+        if (!indexable(category) || !indexable(code) || !indexable(value)) {
+            return null;
+        }
+        return new ItemTag(category, code, value);
+    }
+
+    /**
+     * Code of a tag group or list entry, the same for the streaming and the tree extraction:
+     * {@code descriptor.code}, or the plain {@code code} when that is missing or empty
+     */
+    public static String code(String descriptorCode, String plainCode) {
+        return descriptorCode != null && !descriptorCode.isEmpty() ? descriptorCode : plainCode;
+    }
+
+    private static boolean indexable(String name) {
+        return name != null && !name.isEmpty() && name.length() <= MAX_LENGTH;
+    }
+}
@@ -0,0 +1,155 @@
+package org.beckn.catalog.tags;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned tag categories, codes and values: each distinct name is stored once and referenced
+ * by an integer id from {@code item_tags}.
+ *
+ * Ids are cached in memory. Names inserted by the current transaction are only cached once it
+ * commits, so a rolled back insert never leaves a dangling id behind. New names are inserted
+ * in sorted order, so concurrent transactions interning overlapping names cannot deadlock.
+ */
+@Component
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO %s (name) SELECT n FROM unnest(?::varchar[]) AS n ORDER BY n " +
+            "ON CONFLICT (name) DO NOTHING RETURNING id, name";
+
+    private static final String SELECT_SQL = "SELECT id, name FROM %s WHERE name = ANY(?::varchar[])";
+
+    /**
+     * Dictionary tables
+     */
+    public enum Kind {
+        CATEGORY("tag_categories"),
+        CODE("tag_codes"),
+        VALUE("tag_values");
+
+        private final String table;
+
+        Kind(String table) {
+            this.table = table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Kind, Map<String, Integer>> caches = new EnumMap<>(Map.of(
+            Kind.CATEGORY, new ConcurrentHashMap<>(),
+            Kind.CODE, new ConcurrentHashMap<>(),
+            Kind.VALUE, new ConcurrentHashMap<>()));
+
+    @Value("${catalog.tags.dictionary-cache-size:100000}")
+    private int cacheSize;
+
+    /**
+     * Ids of the given names, inserting missing names within the current transaction
+     */
+    public Map<String, Integer> intern(Kind kind, Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        TreeSet<String> missing = cached(kind, names, ids);
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Integer> inserted = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(String.format(INSERT_SQL, kind.table));
+            statement.setArray(1, connection.createArrayOf("varchar", missing.toArray()));
+            return statement;
+        }, resultSet -> {
+            inserted.put(resultSet.getString("name"), resultSet.getInt("id"));
+        });
+        ids.putAll(inserted);
+        missing.removeAll(inserted.keySet());
+        cacheAfterCommit(kind, inserted);
+
+        // Names that already existed, or were committed concurrently
+        ids.putAll(select(kind, missing));
+        return ids;
+    }
+
+    /**
+     * Ids of the given names that exist; unknown names are absent from the result
+     */
+    public Map<String, Integer> find(Kind kind, Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        TreeSet<String> missing = cached(kind, names, ids);
+        if (!missing.isEmpty()) {
+            ids.putAll(select(kind, missing));
+        }
+        return ids;
+    }
+
+    private TreeSet<String> cached(Kind kind, Collection<String> names, Map<String, Integer> ids) {
+        Map<String, Integer> cache = caches.get(kind);
+        TreeSet<String> missing = new TreeSet<>();
+        for (String name : names) {
+            Integer id = cache.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+        return missing;
+    }
+
+    private Map<String, Integer> select(Kind kind, Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+        List<String> lookup = new ArrayList<>(names);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(String.format(SELECT_SQL, kind.table));
+            statement.setArray(1, connection.createArrayOf("varchar", lookup.toArray()));
+            return statement;
+        }, resultSet -> {
+            ids.put(resultSet.getString("name"), resultSet.getInt("id"));
+        });
+        cache(kind, ids);
+        return ids;
+    }
+
+    private void cacheAfterCommit(Kind kind, Map<String, Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(kind, ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(kind, ids);
+            }
+        });
+    }
+
+    private void cache(Kind kind, Map<String, Integer> ids) {
+        Map<String, Integer> cache = caches.get(kind);
+        // Values can be high-cardinality; start over rather than grow without bound
+        if (cache.size() + ids.size() > cacheSize) {
+            cache.clear();
+        }
+        cache.putAll(ids);
+    }
+}
@@ -0,0 +1,39 @@
+package org.beckn.catalog.tags;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.beckn.catalog.repository.ItemTagJdbcRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds the facet count deltas appended by item tag changes into {@code tag_facet_counts}, so
+ * facet reads only have to add a short tail of pending deltas. Safe to run on several instances;
+ * each run moves the deltas it deleted exactly once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.tags.enabled", havingValue = "true", matchIfMissing = true)
+public class TagFacetCompactionJob {
+
+    private final ItemTagJdbcRepository itemTagRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${catalog.tags.facet-compaction-interval-ms:10000}",
+               initialDelayString = "${catalog.tags.facet-compaction-interval-ms:10000}")
+    public void compact() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int changed = itemTagRepository.compactFacetCounts();
+            if (changed > 0) {
+                log.debug("Folded pending deltas into {} tag facet counts", changed);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("catalog.tags.facet.compaction"));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.beckn.catalog.tags;
+
+import java.util.List;
+
+/**
+ * Tag filter in conjunctive form: an item matches when, for every group, it has at least one
+ * of the group's tags. {@code [[5g=Y], [color=black, color=blue]]} selects 5G items that are
+ * black or blue.
+ *
+ * @param allOf Groups that must all match; the tags within a group are alternatives
+ */
+public record TagFilter(List<List<ItemTag>> allOf) {
+
+    public static TagFilter none() {
+        return new TagFilter(List.of());
+    }
+
+    public boolean isEmpty() {
+        return allOf.isEmpty();
+    }
+}
@@ -0,0 +1,135 @@
+package org.beckn.catalog.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates Beckn catalog events against bundled JSON Schemas.
+ *
+ * Schemas are loaded from {@code schemas/beckn/<key>/catalog.json} and compiled once at startup.
+ * A schema is selected per event by {@code context.domain} and {@code context.core_version}
+ * (falling back to {@code context.version}), trying {@code <domain>/<version>}, then
+ * {@code <version>}, then {@code default}. Domains are matched lower-cased with {@code :}
+ * replaced by {@code _} (e.g. {@code ondc_ret10/1.2.0}).
+ */
+@Slf4j
+@Component
+public class BecknSchemaValidator {
+
+    public static final String DEFAULT_SCHEMA_KEY = "default";
+
+    private static final String SCHEMA_FILE = "/catalog.json";
+
+    private final String schemaLocation;
+    private final boolean failFast;
+    private final Map<String, JsonSchema> schemas = new HashMap<>();
+
+    public BecknSchemaValidator(
+            @Value("${catalog.validation.schema-location:classpath*:schemas/beckn/**/catalog.json}") String schemaLocation,
+            @Value("${catalog.validation.mode:fail-fast}") String mode) {
+        this.schemaLocation = schemaLocation;
+        this.failFast = !"collect-all".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Load and precompile all bundled schemas
+     */
+    @PostConstruct
+    public void compile() throws IOException {
+        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+        SchemaValidatorsConfig config = new SchemaValidatorsConfig();
+        config.setFailFast(failFast);
+
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(schemaLocation);
+        for (Resource resource : resources) {
+            String key = schemaKey(resource);
+            try (InputStream in = resource.getInputStream()) {
+                JsonSchema schema = factory.getSchema(in, config);
+                // Build the validator tree now rather than lazily on the first event
+                schema.initializeValidators();
+                schemas.put(key, schema);
+            }
+        }
+
+        if (!schemas.containsKey(DEFAULT_SCHEMA_KEY)) {
+            throw new IllegalStateException("No default Beckn catalog schema found at " + schemaLocation);
+        }
+        log.info("Compiled {} Beckn catalog schemas {} (mode: {})",
+                schemas.size(), schemas.keySet(), failFast ? "fail-fast" : "collect-all");
+    }
+
+    /**
+     * Validate a parsed Beckn event against the schema selected by its context
+     *
+     * @param event Parsed Beckn catalog event
+     * @return Validation errors; empty when valid. In fail-fast mode at most one error is returned.
+     */
+    public List<String> validate(JsonNode event) {
+        JsonSchema schema = select(event.path("context"));
+        List<String> errors = new ArrayList<>();
+        try {
+            Set<ValidationMessage> messages = schema.validate(event);
+            for (ValidationMessage message : messages) {
+                errors.add(message.getMessage());
+            }
+        } catch (JsonSchemaException e) {
+            // Thrown on the first error in fail-fast mode
+            if (e.getValidationMessages() != null && !e.getValidationMessages().isEmpty()) {
+                e.getValidationMessages().forEach(message -> errors.add(message.getMessage()));
+            } else {
+                errors.add(e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Schema for a Beckn context, falling back from domain+version to version to default
+     */
+    JsonSchema select(JsonNode context) {
+        String domain = normalize(context.path("domain").asText(""));
+        String version = context.path("core_version").asText("");
+        if (version.isEmpty()) {
+            version = context.path("version").asText("");
+        }
+
+        JsonSchema schema = null;
+        if (!domain.isEmpty() && !version.isEmpty()) {
+            schema = schemas.get(domain + "/" + version);
+        }
+        if (schema == null && !version.isEmpty()) {
+            schema = schemas.get(version);
+        }
+        return schema != null ? schema : schemas.get(DEFAULT_SCHEMA_KEY);
+    }
+
+    private static String schemaKey(Resource resource) throws IOException {
+        String path = resource.getURL().toString();
+        int root = path.lastIndexOf("schemas/beckn/");
+        return path.substring(root + "schemas/beckn/".length(), path.length() - SCHEMA_FILE.length());
+    }
+
+    private static String normalize(String domain) {
+        return domain.toLowerCase(Locale.ROOT).replace(':', '_');
+    }
+}
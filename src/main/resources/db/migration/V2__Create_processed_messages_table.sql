@@ -0,0 +1,13 @@
+-- Exact confirmation store for duplicate Beckn message suppression
+CREATE TABLE IF NOT EXISTS processed_messages (
+    message_id VARCHAR(255) NOT NULL,
+    bpp_id VARCHAR(255) NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (message_id, bpp_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_messages_processed_at ON processed_messages(processed_at);
+
+COMMENT ON TABLE processed_messages IS 'Beckn messages already processed, for duplicate suppression';
+COMMENT ON COLUMN processed_messages.message_id IS 'Beckn context.message_id';
+COMMENT ON COLUMN processed_messages.bpp_id IS 'Beckn context.bpp_id of the sender';
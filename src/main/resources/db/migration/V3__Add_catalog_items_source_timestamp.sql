@@ -0,0 +1,4 @@
+-- Source catalog version per item, used to reject stale out-of-order updates
+ALTER TABLE catalog_items ADD COLUMN IF NOT EXISTS source_timestamp TIMESTAMP WITH TIME ZONE;
+
+COMMENT ON COLUMN catalog_items.source_timestamp IS 'Beckn context.timestamp of the catalog that last wrote this item';
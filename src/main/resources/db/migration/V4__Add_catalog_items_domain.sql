@@ -0,0 +1,4 @@
+-- Beckn domain per item, used for per-domain retention
+ALTER TABLE catalog_items ADD COLUMN IF NOT EXISTS domain VARCHAR(255);
+
+COMMENT ON COLUMN catalog_items.domain IS 'Beckn context.domain of the catalog that last wrote this item';
@@ -0,0 +1,7 @@
+-- Keyset indexes for the retention job. Built concurrently so ingestion is not blocked;
+-- Flyway runs CONCURRENTLY statements outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_catalog_items_updated_at
+    ON catalog_items(updated_at, item_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_catalog_items_domain_updated_at
+    ON catalog_items(domain, updated_at, item_id);
@@ -0,0 +1,33 @@
+-- Provider locations (Beckn providers[].locations[]) with a geohash for radius queries.
+-- The geohash uses the "C" collation so prefix ranges [cell, cell || '{') follow byte order;
+-- the covering index answers the candidate scan without touching the heap.
+CREATE TABLE IF NOT EXISTS provider_locations (
+    provider_id VARCHAR(255) NOT NULL,
+    location_id VARCHAR(255) NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    geohash VARCHAR(12) COLLATE "C" NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (provider_id, location_id)
+);
+
+-- The radius candidate scan reads provider_id, location_id, latitude and longitude by geohash
+-- range; carrying all four makes it an index-only scan (given a visible heap)
+CREATE INDEX IF NOT EXISTS idx_provider_locations_geohash
+    ON provider_locations(geohash) INCLUDE (provider_id, location_id, latitude, longitude);
+
+-- Locations an item is available at (items[].location_id / location_ids); items without
+-- links are available at every location of their provider
+CREATE TABLE IF NOT EXISTS item_locations (
+    item_id VARCHAR(255) NOT NULL REFERENCES catalog_items(item_id) ON DELETE CASCADE,
+    provider_id VARCHAR(255) NOT NULL,
+    location_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (item_id, location_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_locations_location
+    ON item_locations(provider_id, location_id);
+
+COMMENT ON TABLE provider_locations IS 'Beckn provider locations with geohash for proximity search';
+COMMENT ON COLUMN provider_locations.geohash IS 'Geohash of (latitude, longitude) at precision 9';
+COMMENT ON TABLE item_locations IS 'Provider locations referenced by catalog items';
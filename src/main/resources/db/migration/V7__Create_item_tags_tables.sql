@@ -0,0 +1,76 @@
+-- Interned tag dictionaries: each category, code and value name is stored once
+CREATE TABLE IF NOT EXISTS tag_categories (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS tag_codes (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS tag_values (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- Normalized item_data.tags[].list[] (category = tags[].descriptor.code, code = list[].descriptor.code)
+CREATE TABLE IF NOT EXISTS item_tags (
+    item_id VARCHAR(255) NOT NULL REFERENCES catalog_items(item_id) ON DELETE CASCADE,
+    category_id INTEGER NOT NULL,
+    code_id INTEGER NOT NULL,
+    value_id INTEGER NOT NULL,
+    PRIMARY KEY (item_id, category_id, code_id, value_id)
+);
+
+-- Tag filters: all items with a tag value (or any value of a code), answered from the index
+CREATE INDEX IF NOT EXISTS idx_item_tags_tag
+    ON item_tags(category_id, code_id, value_id, item_id);
+
+-- Facet counts over all items; ingestion only appends deltas, which are folded in periodically
+CREATE TABLE IF NOT EXISTS tag_facet_counts (
+    category_id INTEGER NOT NULL,
+    code_id INTEGER NOT NULL,
+    value_id INTEGER NOT NULL,
+    item_count BIGINT NOT NULL,
+    PRIMARY KEY (category_id, code_id, value_id)
+);
+
+CREATE TABLE IF NOT EXISTS tag_facet_deltas (
+    category_id INTEGER NOT NULL,
+    code_id INTEGER NOT NULL,
+    value_id INTEGER NOT NULL,
+    delta INTEGER NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION record_item_tag_deltas()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO tag_facet_deltas (category_id, code_id, value_id, delta)
+        SELECT category_id, code_id, value_id, count(*) FROM added_tags
+        GROUP BY category_id, code_id, value_id;
+    ELSE
+        INSERT INTO tag_facet_deltas (category_id, code_id, value_id, delta)
+        SELECT category_id, code_id, value_id, -count(*) FROM removed_tags
+        GROUP BY category_id, code_id, value_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Statement level, so a batch upsert or a cascaded delete appends one delta per tag value
+CREATE TRIGGER item_tags_added
+    AFTER INSERT ON item_tags
+    REFERENCING NEW TABLE AS added_tags
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION record_item_tag_deltas();
+
+CREATE TRIGGER item_tags_removed
+    AFTER DELETE ON item_tags
+    REFERENCING OLD TABLE AS removed_tags
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION record_item_tag_deltas();
+
+COMMENT ON TABLE item_tags IS 'Beckn item tags as dictionary ids, for attribute filters and facets';
+COMMENT ON TABLE tag_facet_deltas IS 'Pending facet count changes, folded into tag_facet_counts';
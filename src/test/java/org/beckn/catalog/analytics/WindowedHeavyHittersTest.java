@@ -0,0 +1,128 @@
+package org.beckn.catalog.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedHeavyHittersTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration WINDOW = Duration.ofHours(2);
+
+    @Test
+    void shouldFindHeavyProvidersAmongLongTail() {
+        // Given
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(2, HOUR, 4, 512, 64);
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 == 0) {
+                hitters.add("provider-heavy", 5);
+            } else if (i % 25 == 0) {
+                hitters.add("provider-large", 7);
+            } else {
+                hitters.add("provider-" + random.nextInt(20_000), 1);
+            }
+        }
+
+        // Then
+        List<HeavyHitter> top = hitters.top(2, WINDOW);
+        assertThat(top).extracting(HeavyHitter::key).containsExactly("provider-heavy", "provider-large");
+        assertThat(top.get(0).estimate()).isGreaterThanOrEqualTo(50_000);
+        assertThat(top.get(0).guaranteed()).isLessThanOrEqualTo(50_000);
+        assertThat(top.get(1).estimate()).isGreaterThanOrEqualTo(14_000);
+        assertThat(top.get(1).guaranteed()).isLessThanOrEqualTo(14_000);
+        assertThat(hitters.estimate("provider-heavy", WINDOW)).isGreaterThanOrEqualTo(50_000);
+    }
+
+    @Test
+    void shouldKeepMemoryFixedRegardlessOfKeys() {
+        // Given
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(2, HOUR, 4, 256, 16);
+        long size = hitters.sizeInBytes();
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            hitters.add("provider-" + i, 1);
+        }
+
+        // Then
+        assertThat(hitters.sizeInBytes()).isEqualTo(size);
+        assertThat(hitters.top(100, WINDOW)).hasSize(16);
+        assertThat(hitters.total(WINDOW)).isEqualTo(50_000);
+    }
+
+    @Test
+    void shouldForgetLoadOutsideWindow() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000);
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(4, Duration.ofMillis(50), 4, 256, 16, now::get);
+        hitters.add("provider1", 10);
+        now.addAndGet(100);
+        hitters.add("provider2", 5);
+
+        // When
+        long recent = hitters.total(Duration.ofMillis(100));
+        now.addAndGet(200);
+
+        // Then
+        assertThat(recent).isEqualTo(5);
+        assertThat(hitters.total(Duration.ofMillis(200))).isZero();
+        assertThat(hitters.top(10, Duration.ofMillis(200))).isEmpty();
+    }
+
+    @Test
+    void shouldReuseBucketOnceItFallsOutOfHistory() {
+        // Given
+        AtomicLong now = new AtomicLong(0);
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(2, Duration.ofMillis(50), 4, 256, 16, now::get);
+        hitters.add("provider1", 10);
+
+        // When
+        now.addAndGet(100);
+        hitters.add("provider2", 3);
+
+        // Then
+        assertThat(hitters.top(10, hitters.history())).extracting(HeavyHitter::key).containsExactly("provider2");
+        assertThat(hitters.estimate("provider1", hitters.history())).isZero();
+        assertThat(hitters.total(hitters.history())).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCountConcurrentAddsExactly() throws Exception {
+        // Given
+        WindowedHeavyHitters hitters = new WindowedHeavyHitters(2, HOUR, 4, 256, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.add(i % 2 == 0 ? "provider-heavy" : "provider-" + i, 1);
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(hitters.total(WINDOW)).isEqualTo(40_000);
+        HeavyHitter heavy = hitters.top(1, WINDOW).get(0);
+        assertThat(heavy.key()).isEqualTo("provider-heavy");
+        assertThat(heavy.guaranteed()).isLessThanOrEqualTo(20_000);
+        assertThat(heavy.estimate()).isGreaterThanOrEqualTo(20_000);
+    }
+}
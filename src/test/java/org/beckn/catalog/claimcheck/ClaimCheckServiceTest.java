@@ -0,0 +1,111 @@
+package org.beckn.catalog.claimcheck;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClaimCheckServiceTest {
+
+    private static final String PAYLOAD = "{\"id\":\"item1\",\"descriptor\":{\"name\":\"Caf\u00e9\"}}";
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemBlobStore store;
+    private ClaimCheckService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSystemBlobStore(tempDir.toString());
+        service = new ClaimCheckService(store, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "thresholdBytes", 16);
+    }
+
+    @Test
+    void shouldOffloadOnlyPayloadsAboveTheThreshold() {
+        // When / Then
+        assertThat(service.shouldOffload("{\"id\":\"item1\"}")).isFalse();
+        assertThat(service.shouldOffload(PAYLOAD)).isTrue();
+        assertThat(service.shouldOffload(null)).isFalse();
+        // 9 chars but 18 UTF-8 bytes
+        assertThat(service.shouldOffload("\u00e9".repeat(9))).isTrue();
+
+        ReflectionTestUtils.setField(service, "enabled", false);
+        assertThat(service.shouldOffload(PAYLOAD)).isFalse();
+    }
+
+    @Test
+    void shouldResolveOffloadedReferenceBody() {
+        // Given
+        ClaimCheck claimCheck = service.offload(PAYLOAD);
+        String body = service.toReferenceBody(claimCheck);
+
+        // When
+        String resolved = service.resolve(body, new RecordHeaders());
+
+        // Then
+        assertThat(body).doesNotContain("item1").contains("\"claim_check\"");
+        assertThat(claimCheck.size()).isEqualTo(PAYLOAD.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(resolved).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void shouldResolveReferenceHeaders() {
+        // Given
+        ClaimCheck claimCheck = service.offload(PAYLOAD);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(ClaimCheckService.HEADER_CLAIM_CHECK, claimCheck.uri().getBytes(StandardCharsets.UTF_8));
+        headers.add(ClaimCheckService.HEADER_CLAIM_CHECK_SHA256, claimCheck.sha256().getBytes(StandardCharsets.UTF_8));
+        RecordHeaders uriOnly = new RecordHeaders();
+        uriOnly.add(ClaimCheckService.HEADER_CLAIM_CHECK, claimCheck.uri().getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertThat(service.resolve("ignored", headers)).isEqualTo(PAYLOAD);
+        assertThat(service.resolve(null, uriOnly)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void shouldPassThroughValuesWithoutReference() {
+        // When / Then
+        assertThat(service.resolve(PAYLOAD, new RecordHeaders())).isEqualTo(PAYLOAD);
+        assertThat(service.resolve(PAYLOAD, null)).isEqualTo(PAYLOAD);
+        assertThat(service.resolve("{\"claim_check\":{\"size\":1}}", null)).isEqualTo("{\"claim_check\":{\"size\":1}}");
+        assertThat(service.resolve("not json claim_check", null)).isEqualTo("not json claim_check");
+    }
+
+    @Test
+    void shouldRejectChecksumMismatch() throws Exception {
+        // Given
+        ClaimCheck claimCheck = service.offload(PAYLOAD);
+        Files.writeString(Path.of(URI.create(claimCheck.uri())), "{\"id\":\"tampered\"}");
+
+        // When / Then
+        assertThatThrownBy(() -> service.resolve(service.toReferenceBody(claimCheck), null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("checksum mismatch");
+    }
+
+    @Test
+    void shouldRejectUnsupportedLocation() {
+        // Given
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(ClaimCheckService.HEADER_CLAIM_CHECK, "s3://bucket/key".getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertThatThrownBy(() -> service.resolve(null, headers))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported claim-check location");
+    }
+}
@@ -0,0 +1,75 @@
+package org.beckn.catalog.claimcheck;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSystemBlobStoreTest {
+
+    private static final byte[] PAYLOAD = "{\"id\":\"item1\"}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldStoreContentAddressedPayloadOnce() throws Exception {
+        // Given
+        FileSystemBlobStore store = new FileSystemBlobStore(tempDir.resolve("store").toString());
+
+        // When
+        ClaimCheck first = store.put(PAYLOAD);
+        ClaimCheck second = store.put(PAYLOAD);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(first.sha256()).isEqualTo(Checksums.sha256(PAYLOAD));
+        assertThat(first.size()).isEqualTo(PAYLOAD.length);
+        assertThat(store.get(first)).isEqualTo(PAYLOAD);
+        Path shard = tempDir.resolve("store").resolve(first.sha256().substring(0, 2));
+        try (var files = Files.list(shard)) {
+            assertThat(files).containsExactly(shard.resolve(first.sha256()));
+        }
+    }
+
+    @Test
+    void shouldRejectReferencesOutsideTheStore() throws Exception {
+        // Given
+        Path base = Files.createDirectories(tempDir.resolve("store"));
+        Files.writeString(tempDir.resolve("secret"), "secret");
+        Files.createDirectories(tempDir.resolve("store-other"));
+        Files.writeString(tempDir.resolve("store-other").resolve("secret"), "secret");
+        FileSystemBlobStore store = new FileSystemBlobStore(base.toString());
+
+        // When / Then
+        assertThatThrownBy(() -> store.get(new ClaimCheck(base.toUri() + "../secret", null, -1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("outside of blob store");
+        assertThatThrownBy(() -> store.get(new ClaimCheck(tempDir.resolve("store-other/secret").toUri().toString(), null, -1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("outside of blob store");
+    }
+
+    @Test
+    void shouldOnlySupportFileUris() {
+        // Given
+        FileSystemBlobStore store = new FileSystemBlobStore(tempDir.toString());
+
+        // When / Then
+        assertThat(store.supports(tempDir.toUri().toString())).isTrue();
+        assertThat(store.supports("s3://bucket/key")).isFalse();
+        assertThat(store.supports(null)).isFalse();
+    }
+
+    @Test
+    void shouldHashKnownVector() {
+        // When / Then
+        assertThat(Checksums.sha256("abc".getBytes(StandardCharsets.US_ASCII)))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
@@ -0,0 +1,132 @@
+package org.beckn.catalog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("primarydb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("replicadb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primaryPool = pool(primary);
+        replicaPool = pool(replica);
+        lagMonitor = new ReplicaLagMonitor(replicaPool, Duration.ofSeconds(5));
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primaryPool,
+                ReadWriteRoutingDataSource.Route.REPLICA, replicaPool));
+        routing.setDefaultTargetDataSource(primaryPool);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        lagMonitor.refresh();
+
+        // When
+        String readDatabase = readOnly.execute(status -> currentDatabase());
+        String writeDatabase = readWrite.execute(status -> currentDatabase());
+
+        // Then
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        assertThat(lagMonitor.getLagMs()).isZero();
+        assertThat(readDatabase).isEqualTo("replicadb");
+        assertThat(writeDatabase).isEqualTo("primarydb");
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideTransactions() {
+        // Given
+        lagMonitor.refresh();
+
+        // When & Then
+        assertThat(currentDatabase()).isEqualTo("primarydb");
+    }
+
+    @Test
+    void shouldUsePrimaryBeforeFirstLagSample() {
+        // When
+        String readDatabase = readOnly.execute(status -> currentDatabase());
+
+        // Then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(readDatabase).isEqualTo("primarydb");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnreachable() {
+        // Given
+        lagMonitor.refresh();
+        replicaPool.close();
+
+        // When
+        lagMonitor.refresh();
+        String readDatabase = readOnly.execute(status -> currentDatabase());
+
+        // Then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(lagMonitor.getLagMs()).isNaN();
+        assertThat(readDatabase).isEqualTo("primarydb");
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
@@ -0,0 +1,93 @@
+package org.beckn.catalog.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeWindowedBloomFilterTest {
+
+    @Test
+    void shouldRememberEveryInsertedKey() {
+        // Given
+        TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(10_000, 0.01, 3_600_000);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("message-" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("message-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(10_000, 0.01, 3_600_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("message-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void shouldRememberKeysForAFullWindow() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000);
+        TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(1_000, 0.01, 100, now::get);
+        now.addAndGet(49);
+        filter.put("message-1");
+
+        // When / Then
+        now.addAndGet(100);
+        assertThat(filter.mightContain("message-1")).isTrue();
+        now.addAndGet(50);
+        assertThat(filter.mightContain("message-1")).isFalse();
+    }
+
+    @Test
+    void shouldRememberKeysAcrossEveryRotationOfTheWindow() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000);
+        TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(1_000, 0.01, 100, now::get);
+
+        // When / Then
+        for (int step = 0; step < 20; step++) {
+            filter.put("message-" + step);
+            now.addAndGet(10);
+            for (int earlier = Math.max(0, step - 9); earlier <= step; earlier++) {
+                assertThat(filter.mightContain("message-" + earlier)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void shouldForgetEverythingAfterAnIdlePeriod() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000);
+        TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(1_000, 0.01, 100, now::get);
+        filter.put("message-1");
+
+        // When
+        now.addAndGet(1_000);
+
+        // Then
+        assertThat(filter.mightContain("message-1")).isFalse();
+        filter.put("message-2");
+        assertThat(filter.mightContain("message-2")).isTrue();
+    }
+}
@@ -0,0 +1,73 @@
+package org.beckn.catalog.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    void shouldEncodeKnownPoint() {
+        // When
+        String geohash = GeoHash.encode(57.64911, 10.40744, 11);
+
+        // Then
+        assertThat(geohash).isEqualTo("u4pruydqqvj");
+    }
+
+    @Test
+    void shouldCoverEveryPointWithinRadius() {
+        // Given
+        Random random = new Random(42);
+
+        for (int query = 0; query < 2_000; query++) {
+            double latitude = random.nextDouble() * 170 - 85;
+            double longitude = random.nextDouble() * 358 - 179;
+            double radius = Math.pow(10, 1 + random.nextDouble() * 5);
+
+            // When
+            List<String> cells = GeoHash.cover(latitude, longitude, radius);
+
+            // Then
+            assertThat(cells).hasSizeLessThanOrEqualTo(9);
+            for (int i = 0; i < 20; i++) {
+                double bearing = random.nextDouble() * 2 * Math.PI;
+                double distance = random.nextDouble() * radius;
+                double pointLat = latitude + distance * Math.cos(bearing) / 111_195;
+                double pointLon = longitude + distance * Math.sin(bearing)
+                        / (111_195 * Math.cos(Math.toRadians(latitude)));
+                if (Math.abs(pointLat) > 90 || Math.abs(pointLon) >= 180
+                        || GeoHash.distanceMeters(latitude, longitude, pointLat, pointLon) > radius) {
+                    continue;
+                }
+                String geohash = GeoHash.encode(pointLat, pointLon, GeoHash.STORED_PRECISION);
+                assertThat(cells).anyMatch(geohash::startsWith);
+            }
+        }
+    }
+
+    @Test
+    void shouldMeasureGreatCircleDistance() {
+        // When
+        double distance = GeoHash.distanceMeters(12.9716, 77.5946, 12.2958, 76.6394);
+
+        // Then (Bengaluru to Mysuru)
+        assertThat(distance).isBetween(127_000.0, 129_000.0);
+    }
+
+    @Test
+    void shouldParseBecknGps() {
+        // When
+        ProviderLocation location = ProviderLocation.of("provider1", "store-1", "44.9778, -93.2650");
+
+        // Then
+        assertThat(location.latitude()).isEqualTo(44.9778);
+        assertThat(location.longitude()).isEqualTo(-93.2650);
+        assertThat(location.geohash()).hasSize(GeoHash.STORED_PRECISION);
+        assertThat(ProviderLocation.of("provider1", "store-2", "not-a-point")).isNull();
+        assertThat(ProviderLocation.of("provider1", "store-3", "95.0,10.0")).isNull();
+    }
+}
@@ -0,0 +1,142 @@
+package org.beckn.catalog.messaging.consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConsumptionControllerTest {
+
+    private static final long MAX_PAUSE_MS = 60_000;
+
+    private AdaptiveConsumptionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdaptiveConsumptionController(null, null);
+        ReflectionTestUtils.setField(controller, "minParallelism", 1);
+        ReflectionTestUtils.setField(controller, "maxParallelism", 4);
+        ReflectionTestUtils.setField(controller, "poolWaitHighMs", 50.0);
+        ReflectionTestUtils.setField(controller, "persistLatencyHighMs", 5000.0);
+        ReflectionTestUtils.setField(controller, "lagHigh", 1000.0);
+        ReflectionTestUtils.setField(controller, "maxPause", Duration.ofMillis(MAX_PAUSE_MS));
+    }
+
+    @Test
+    void shouldHalveUnderBackpressureDownToLowerBounds() {
+        // Given
+        state(4);
+
+        // When
+        AdaptiveConsumptionController.Target first = controller.target(signals(80, 0, 100, 0), 4);
+        state(first.parallelism());
+        AdaptiveConsumptionController.Target second = controller.target(signals(10, 0, 6000, 0), 4);
+        state(1);
+        AdaptiveConsumptionController.Target floor = controller.target(signals(80, 0, 100, 0), 4);
+
+        // Then
+        assertThat(first).isEqualTo(new AdaptiveConsumptionController.Target(2, "backpressure"));
+        assertThat(second).isEqualTo(new AdaptiveConsumptionController.Target(1, "backpressure"));
+        assertThat(floor).isEqualTo(new AdaptiveConsumptionController.Target(1, "backpressure"));
+    }
+
+    @Test
+    void shouldGrowAdditivelyWhileLaggingWithHeadroomUpToUpperBounds() {
+        // Given
+        state(1);
+
+        // When
+        AdaptiveConsumptionController.Target grown = controller.target(signals(5, 0, 100, 5000), 3);
+        state(3);
+        AdaptiveConsumptionController.Target capped = controller.target(signals(5, 0, 100, 5000), 3);
+
+        // Then
+        assertThat(grown).isEqualTo(new AdaptiveConsumptionController.Target(2, "lag with headroom"));
+        assertThat(capped).isEqualTo(new AdaptiveConsumptionController.Target(3, "lag with headroom"));
+    }
+
+    @Test
+    void shouldHoldWithoutLagOrWhenPoolHasWaiters() {
+        // Given
+        state(2);
+
+        // When
+        AdaptiveConsumptionController.Target idle = controller.target(signals(5, 0, 100, 10), 4);
+        AdaptiveConsumptionController.Target waiters = controller.target(signals(5, 3, 100, 5000), 4);
+        AdaptiveConsumptionController.Target warmPool = controller.target(signals(30, 0, 100, 5000), 4);
+
+        // Then
+        assertThat(idle).isEqualTo(new AdaptiveConsumptionController.Target(2, null));
+        assertThat(waiters).isEqualTo(new AdaptiveConsumptionController.Target(2, null));
+        assertThat(warmPool).isEqualTo(new AdaptiveConsumptionController.Target(2, null));
+    }
+
+    @Test
+    void shouldKeepRunningConsumersWhilePausesAreShort() {
+        // Given
+        List<AdaptiveConsumptionController.ChildState> children = List.of(
+                running(0), paused(10_000), running(5_000));
+
+        // When / Then
+        assertThat(AdaptiveConsumptionController.selectRunning(children, 2, 30_000, MAX_PAUSE_MS))
+                .containsExactlyInAnyOrder(0, 2);
+        assertThat(AdaptiveConsumptionController.selectRunning(children, 1, 30_000, MAX_PAUSE_MS))
+                .containsExactly(2);
+    }
+
+    @Test
+    void shouldRotateConsumerPausedLongerThanMaxPauseWithLongestRunning() {
+        // Given
+        List<AdaptiveConsumptionController.ChildState> children = List.of(
+                running(0), paused(10_000), running(5_000));
+
+        // When
+        var rotated = AdaptiveConsumptionController.selectRunning(children, 2, 10_000 + MAX_PAUSE_MS, MAX_PAUSE_MS);
+
+        // Then
+        assertThat(rotated).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void shouldEventuallyRunEveryConsumerUnderSustainedBackpressure() {
+        // Given
+        AdaptiveConsumptionController.ChildState[] children = {running(0), paused(0), paused(0)};
+        boolean[] ran = new boolean[children.length];
+
+        // When
+        for (long now = 0; now <= 3 * MAX_PAUSE_MS; now += 10_000) {
+            var running = AdaptiveConsumptionController.selectRunning(List.of(children), 1, now, MAX_PAUSE_MS);
+            for (int i = 0; i < children.length; i++) {
+                boolean runs = running.contains(i);
+                ran[i] |= runs;
+                if (runs == children[i].paused()) {
+                    children[i] = new AdaptiveConsumptionController.ChildState(!runs, now);
+                }
+            }
+        }
+
+        // Then
+        assertThat(ran).containsOnly(true);
+    }
+
+    private void state(int parallelism) {
+        ReflectionTestUtils.setField(controller, "parallelism", parallelism);
+    }
+
+    private static AdaptiveConsumptionController.Signals signals(double poolWaitMs, double pending,
+                                                                 double persistMs, double lag) {
+        return new AdaptiveConsumptionController.Signals(poolWaitMs, pending, persistMs, lag);
+    }
+
+    private static AdaptiveConsumptionController.ChildState running(long since) {
+        return new AdaptiveConsumptionController.ChildState(false, since);
+    }
+
+    private static AdaptiveConsumptionController.ChildState paused(long since) {
+        return new AdaptiveConsumptionController.ChildState(true, since);
+    }
+}
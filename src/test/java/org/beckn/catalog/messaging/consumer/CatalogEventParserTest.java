@@ -0,0 +1,67 @@
+package org.beckn.catalog.messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beckn.catalog.service.BecknCatalogScanner;
+import org.beckn.catalog.validation.BecknSchemaValidator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogEventParserTest {
+
+    private static final String CONTEXT = "\"context\":{\"domain\":\"retail\",\"action\":\"on_search\","
+            + "\"core_version\":\"1.1.0\",\"bpp_id\":\"bpp1\",\"message_id\":\"m1\","
+            + "\"timestamp\":\"2025-01-27T10:30:00Z\"}";
+
+    private static final String INVALID_PRICE = "{" + CONTEXT + ",\"message\":{\"catalog\":{\"providers\":["
+            + "{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\",\"price\":{\"value\":\"cheap\"}}]}]}}}";
+
+    private static BecknSchemaValidator validator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void compile() throws Exception {
+        validator = new BecknSchemaValidator("classpath*:schemas/beckn/**/catalog.json", "fail-fast");
+        validator.compile();
+    }
+
+    @Test
+    void shouldValidateSchemaWithRawJsonProcessing() {
+        // Given
+        CatalogEventParser parser = parser(true, true);
+
+        // When / Then
+        assertThatThrownBy(() -> parser.parseAndValidate(INVALID_PRICE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("schema validation");
+    }
+
+    @Test
+    void shouldNotHandOnTreeWithRawJsonProcessing() {
+        // Given
+        String event = "{" + CONTEXT + ",\"message\":{\"catalog\":{\"providers\":["
+                + "{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\"}]}]}}}";
+
+        // When / Then
+        assertThat(parser(true, true).parseAndValidate(event)).isNull();
+        assertThat(parser(false, true).parseAndValidate(event)).isNotNull();
+    }
+
+    @Test
+    void shouldSkipParsingWithRawJsonAndValidationDisabled() {
+        // When / Then
+        assertThat(parser(true, false).parseAndValidate(INVALID_PRICE)).isNull();
+        assertThat(parser(true, false).parseAndValidate("not json")).isNull();
+    }
+
+    private CatalogEventParser parser(boolean rawJson, boolean schemaValidation) {
+        CatalogEventParser parser = new CatalogEventParser(objectMapper, validator, new BecknCatalogScanner(objectMapper));
+        ReflectionTestUtils.setField(parser, "rawJsonEnabled", rawJson);
+        ReflectionTestUtils.setField(parser, "schemaValidationEnabled", schemaValidation);
+        return parser;
+    }
+}
@@ -0,0 +1,140 @@
+package org.beckn.catalog.messaging.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightRecordTrackerTest {
+
+    private static final TopicPartition PARTITION_0 = new TopicPartition("events", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("events", 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger acknowledged = new AtomicInteger();
+    private MockConsumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION_0, PARTITION_1));
+    }
+
+    @Test
+    void shouldCommitOnlyTheContiguousPrefixOfOutOfOrderAcks() {
+        // Given
+        InFlightRecordTracker tracker = new InFlightRecordTracker(Duration.ofMillis(50), meterRegistry);
+        Acknowledgment ack10 = track(tracker, PARTITION_0, 10);
+        track(tracker, PARTITION_0, 11);
+        Acknowledgment ack12 = track(tracker, PARTITION_0, 12);
+        Acknowledgment ack5 = track(tracker, PARTITION_1, 5);
+        ack12.acknowledge();
+        ack10.acknowledge();
+        ack5.acknowledge();
+
+        // When
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_0, PARTITION_1));
+
+        // Then 11 is still running, so 12 must not be committed past it
+        assertThat(committed()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                PARTITION_0, new OffsetAndMetadata(11),
+                PARTITION_1, new OffsetAndMetadata(6)));
+        assertThat(acknowledged).hasValue(3);
+    }
+
+    @Test
+    void shouldHandOverAfterDrainTimeout() {
+        // Given
+        InFlightRecordTracker tracker = new InFlightRecordTracker(Duration.ofMillis(100), meterRegistry);
+        track(tracker, PARTITION_0, 10).acknowledge();
+        track(tracker, PARTITION_0, 11);
+
+        // When
+        long start = System.nanoTime();
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_0));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(100).isLessThan(5_000);
+        assertThat(committed()).containsExactlyEntriesOf(Map.of(PARTITION_0, new OffsetAndMetadata(11)));
+        assertThat(inFlightGauge()).isZero();
+    }
+
+    @Test
+    void shouldWaitForRecordsFinishingWithinTheDrainTimeout() {
+        // Given
+        InFlightRecordTracker tracker = new InFlightRecordTracker(Duration.ofSeconds(10), meterRegistry);
+        Acknowledgment ack = track(tracker, PARTITION_0, 10);
+        CompletableFuture.runAsync(ack::acknowledge, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        // When
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_0));
+
+        // Then
+        assertThat(committed()).containsExactlyEntriesOf(Map.of(PARTITION_0, new OffsetAndMetadata(11)));
+        assertThat(acknowledged).hasValue(1);
+    }
+
+    @Test
+    void shouldNotCommitRevokedPartitionsWithoutProgress() {
+        // Given
+        InFlightRecordTracker tracker = new InFlightRecordTracker(Duration.ofSeconds(10), meterRegistry);
+        track(tracker, PARTITION_1, 5).acknowledge();
+
+        // When
+        long start = System.nanoTime();
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_0));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then nothing tracked for partition 0, and partition 1 is kept for a later revocation
+        assertThat(committed()).isEmpty();
+        assertThat(elapsedMillis).isLessThan(5_000);
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_1));
+        assertThat(committed()).containsExactlyEntriesOf(Map.of(PARTITION_1, new OffsetAndMetadata(6)));
+    }
+
+    @Test
+    void shouldDropLostPartitionsWithoutCommitting() {
+        // Given
+        InFlightRecordTracker tracker = new InFlightRecordTracker(Duration.ofMillis(50), meterRegistry);
+        track(tracker, PARTITION_0, 10).acknowledge();
+        track(tracker, PARTITION_0, 11);
+
+        // When
+        tracker.onPartitionsLost(consumer, List.of(PARTITION_0));
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION_0));
+
+        // Then
+        assertThat(committed()).isEmpty();
+        assertThat(inFlightGauge()).isZero();
+    }
+
+    private Acknowledgment track(InFlightRecordTracker tracker, TopicPartition partition, long offset) {
+        ConsumerRecord<String, String> record =
+                new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", "value");
+        return tracker.track(record, acknowledged::incrementAndGet);
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committed() {
+        return consumer.committed(Set.of(PARTITION_0, PARTITION_1));
+    }
+
+    private double inFlightGauge() {
+        return meterRegistry.get("catalog.consumer.in.flight.records").gauge().value();
+    }
+}
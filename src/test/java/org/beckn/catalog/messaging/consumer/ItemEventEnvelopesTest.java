@@ -0,0 +1,111 @@
+package org.beckn.catalog.messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.messaging.producer.ItemEventWriter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemEventEnvelopesTest {
+
+    private static final String TIMESTAMP = "2025-01-27T10:30:00Z";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ItemEventWriter writer = new ItemEventWriter(objectMapper);
+
+    @Test
+    void shouldSplitEnvelopesByItemCount() throws Exception {
+        // Given
+        List<CatalogItem> items = items(25, "");
+
+        // When
+        List<String> envelopes = writer.writeEnvelopes("provider1", items, TIMESTAMP, 10, 1_000_000);
+
+        // Then
+        assertThat(envelopes).hasSize(3);
+        assertThat(envelopes).extracting(envelope -> objectMapper.readTree(envelope).path("item_count").asInt())
+                .containsExactly(10, 10, 5);
+    }
+
+    @Test
+    void shouldSplitEnvelopesByBytes() {
+        // Given
+        List<CatalogItem> items = items(10, "x".repeat(1_000));
+
+        // When
+        List<String> envelopes = writer.writeEnvelopes("provider1", items, TIMESTAMP, 100, 3_500);
+
+        // Then
+        assertThat(envelopes).hasSizeGreaterThan(3);
+        assertThat(envelopes).allSatisfy(envelope ->
+                assertThat(envelope.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(3_500));
+    }
+
+    @Test
+    void shouldKeepOversizedItemInItsOwnEnvelope() throws Exception {
+        // Given
+        List<CatalogItem> items = items(2, "x".repeat(5_000));
+
+        // When
+        List<String> envelopes = writer.writeEnvelopes("provider1", items, TIMESTAMP, 100, 1_000);
+
+        // Then
+        assertThat(envelopes).hasSize(2);
+        assertThat(objectMapper.readTree(envelopes.get(0)).path("item_count").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUnpackEnvelopeIntoPerItemEvents() throws Exception {
+        // Given
+        List<CatalogItem> items = items(3, "");
+        String envelope = writer.writeEnvelopes("provider1", items, TIMESTAMP, 10, 1_000_000).get(0);
+        String envelopeId = objectMapper.readTree(envelope).path("event_id").asText();
+
+        // When
+        List<ObjectNode> events = ItemEventEnvelopes.unpack(objectMapper, envelope);
+
+        // Then
+        assertThat(events).hasSize(3);
+        assertThat(events).extracting(event -> event.path("item_id").asText())
+                .containsExactly("item-0", "item-1", "item-2");
+        assertThat(events).extracting(event -> event.path("event_id").asText())
+                .containsExactly(envelopeId + "/0", envelopeId + "/1", envelopeId + "/2");
+        ObjectNode first = events.get(0);
+        assertThat(first.path("event_type").asText()).isEqualTo(ItemEventWriter.EVENT_TYPE);
+        assertThat(first.path("timestamp").asText()).isEqualTo(TIMESTAMP);
+        assertThat(first.path("provider_id").asText()).isEqualTo("provider1");
+        assertThat(first.path("item_data").path("descriptor").path("name").asText()).isEqualTo("Item 0");
+    }
+
+    @Test
+    void shouldPassThroughSingleItemEvents() throws Exception {
+        // Given
+        String event = writer.write(items(1, "").get(0), TIMESTAMP);
+
+        // When
+        List<ObjectNode> events = ItemEventEnvelopes.unpack(objectMapper, event);
+
+        // Then
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).isEqualTo(objectMapper.readTree(event));
+    }
+
+    private static List<CatalogItem> items(int count, String padding) {
+        List<CatalogItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CatalogItem item = new CatalogItem();
+            item.setItemId("item-" + i);
+            item.setProviderId("provider1");
+            item.setRawItemData("{\"id\":\"item-" + i + "\",\"descriptor\":{\"name\":\"Item " + i
+                    + "\",\"long_desc\":\"" + padding + "\"}}");
+            items.add(item);
+        }
+        return items;
+    }
+}
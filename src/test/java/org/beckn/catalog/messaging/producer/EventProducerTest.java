@@ -0,0 +1,59 @@
+package org.beckn.catalog.messaging.producer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.beckn.catalog.claimcheck.ClaimCheckService;
+import org.beckn.catalog.claimcheck.FileSystemBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventProducerTest {
+
+    private static final String ITEM_JSON = "{\"id\":\"item1\",\"descriptor\":{\"name\":\"" + "x".repeat(64) + "\"}}";
+
+    @TempDir
+    Path tempDir;
+
+    private ClaimCheckService claimCheckService;
+    private EventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        claimCheckService = new ClaimCheckService(new FileSystemBlobStore(tempDir.toString()), new ObjectMapper());
+        ReflectionTestUtils.setField(claimCheckService, "enabled", true);
+        ReflectionTestUtils.setField(claimCheckService, "thresholdBytes", 32);
+        producer = new EventProducer(null, claimCheckService);
+        ReflectionTestUtils.setField(producer, "dltTopic", "events.dlt");
+    }
+
+    @Test
+    void shouldClaimCheckOversizedItemsOnTheDlt() {
+        // When
+        ProducerRecord<String, String> record =
+                producer.itemDltRecord("item1", ITEM_JSON, "provider1", "boom", "java.lang.IllegalStateException");
+
+        // Then
+        assertThat(record.key()).isEqualTo("item1");
+        assertThat(record.value()).contains("\"claim_check\"").doesNotContain("xxxx");
+        assertThat(record.headers().lastHeader(ClaimCheckService.HEADER_CLAIM_CHECK)).isNotNull();
+        assertThat(record.headers().lastHeader("x-failure-scope").value()).isEqualTo("item".getBytes());
+        assertThat(claimCheckService.resolve(record.value(), record.headers())).isEqualTo(ITEM_JSON);
+    }
+
+    @Test
+    void shouldKeepSmallItemsInline() {
+        // When
+        ProducerRecord<String, String> record =
+                producer.itemDltRecord("item1", "{\"id\":\"item1\"}", "provider1", "boom", "java.lang.IllegalStateException");
+
+        // Then
+        assertThat(record.value()).isEqualTo("{\"id\":\"item1\"}");
+        assertThat(record.headers().lastHeader(ClaimCheckService.HEADER_CLAIM_CHECK)).isNull();
+    }
+}
@@ -0,0 +1,149 @@
+package org.beckn.catalog.messaging.producer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.beckn.catalog.entity.CatalogItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemEventWriterTest {
+
+    private static final String TIMESTAMP = "2025-01-27T10:30:00Z";
+    private static final String ITEM_JSON =
+            "{\"id\":\"item1\",\"descriptor\":{\"name\":\"Caf\\u00e9 \\\"Latte\\\"\"},\"price\":{\"value\":\"120.50\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ItemEventWriter writer = new ItemEventWriter(objectMapper);
+
+    @Test
+    void shouldMatchFormerMapBasedEventForRawItems() throws Exception {
+        // Given
+        CatalogItem item = item();
+        item.setRawItemData(ITEM_JSON);
+
+        // When
+        String event = writer.write(item, TIMESTAMP);
+
+        // Then
+        assertSameEvent(event, mapBasedEvent(item));
+    }
+
+    @Test
+    void shouldMatchFormerMapBasedEventForTreeItems() throws Exception {
+        // Given
+        CatalogItem item = item();
+        item.setItemData(objectMapper.readTree(ITEM_JSON));
+
+        // When
+        String event = writer.write(item, TIMESTAMP);
+
+        // Then
+        assertSameEvent(event, mapBasedEvent(item));
+    }
+
+    @Test
+    void shouldWriteFieldsInFixedOrder() throws Exception {
+        // Given
+        CatalogItem item = item();
+        item.setRawItemData(ITEM_JSON);
+
+        // When
+        JsonNode event = objectMapper.readTree(writer.write(item, TIMESTAMP));
+
+        // Then
+        assertThat(event.fieldNames()).toIterable().containsExactly(
+                "event_type", "event_id", "timestamp", "source", "version",
+                "item_id", "provider_id", "created_at", "updated_at", "item_data");
+    }
+
+    @Test
+    void shouldGiveEveryEventItsOwnTimeOrderedId() throws Exception {
+        // Given
+        CatalogItem item = item();
+        item.setRawItemData(ITEM_JSON);
+
+        // When
+        UUID first = UUID.fromString(objectMapper.readTree(writer.write(item, TIMESTAMP)).path("event_id").asText());
+        UUID second = UUID.fromString(objectMapper.readTree(writer.write(item, TIMESTAMP)).path("event_id").asText());
+
+        // Then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(List.of(first.version(), second.version())).containsOnly(7);
+    }
+
+    @Test
+    void shouldHandEachEnvelopeItemOnceAndWrapItAsTheSameEvent() throws Exception {
+        // Given
+        List<CatalogItem> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            CatalogItem item = item();
+            item.setItemId("item" + i);
+            item.setRawItemData("{\"id\":\"item" + i + "\",\"padding\":\"" + "x".repeat(400) + "\"}");
+            items.add(item);
+        }
+        List<String> handedIds = new ArrayList<>();
+        Map<String, String> itemJsons = new HashMap<>();
+
+        // When
+        List<String> envelopes = writer.writeEnvelopes("provider1", items, TIMESTAMP, 100, 1_200,
+                (item, itemJson) -> {
+                    handedIds.add(item.getItemId());
+                    itemJsons.put(item.getItemId(), itemJson);
+                });
+
+        // Then
+        assertThat(envelopes).hasSizeGreaterThan(1);
+        assertThat(handedIds).containsExactly("item0", "item1", "item2", "item3", "item4", "item5");
+        for (CatalogItem item : items) {
+            assertSameEvent(writer.writeEvent(itemJsons.get(item.getItemId()), TIMESTAMP), writer.write(item, TIMESTAMP));
+        }
+    }
+
+    /**
+     * The event as built before the streaming writer: a HashMap serialized by the ObjectMapper
+     */
+    private String mapBasedEvent(CatalogItem item) throws Exception {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event_type", "catalog_item_stored");
+        event.put("event_id", UUID.randomUUID().toString());
+        event.put("timestamp", TIMESTAMP);
+        event.put("source", "catalog-publish");
+        event.put("version", "2.0");
+        event.put("item_id", item.getItemId());
+        event.put("provider_id", item.getProviderId());
+        event.put("created_at", item.getCreatedAt().toString());
+        event.put("updated_at", item.getUpdatedAt().toString());
+        event.put("item_data", item.getRawItemData() != null
+                ? new RawValue(item.getRawItemData())
+                : item.getItemData());
+        return objectMapper.writeValueAsString(event);
+    }
+
+    private void assertSameEvent(String actual, String expected) throws Exception {
+        ObjectNode actualTree = (ObjectNode) objectMapper.readTree(actual);
+        ObjectNode expectedTree = (ObjectNode) objectMapper.readTree(expected);
+        // Random per event in both implementations
+        actualTree.remove("event_id");
+        expectedTree.remove("event_id");
+        assertThat(actualTree).isEqualTo(expectedTree);
+    }
+
+    private static CatalogItem item() {
+        CatalogItem item = new CatalogItem();
+        item.setItemId("item1");
+        item.setProviderId("provider1");
+        item.setCreatedAt(OffsetDateTime.parse("2025-01-27T10:00:00Z"));
+        item.setUpdatedAt(OffsetDateTime.parse("2025-01-27T10:15:00Z"));
+        return item;
+    }
+}
@@ -0,0 +1,100 @@
+package org.beckn.catalog.messaging.producer;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.beckn.catalog.config.OutputRoutingProperties;
+import org.beckn.catalog.config.OutputRoutingProperties.Route;
+import org.beckn.catalog.entity.CatalogItem;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputTopicRouterTest {
+
+    private static final List<Route> ROUTES = List.of(
+            new Route("ONDC:RET10", "std:080", "events.output.ret10-blr"),
+            new Route("ONDC:RET10", null, "events.output.ret10"),
+            new Route("ONDC:RET10", "std:080", "events.output.shadowed"),
+            new Route("ONDC:RET11", "", "events.output.ret11"));
+
+    private final OutputTopicRouter router =
+            new OutputTopicRouter(null, new OutputRoutingProperties(true, true, ROUTES), "events.output");
+
+    @Test
+    void shouldPreferDomainAndCityRoute() {
+        // When / Then
+        assertThat(router.topicFor(item("ONDC:RET10", "std:080"))).isEqualTo("events.output.ret10-blr");
+        assertThat(router.topicFor(item("ondc:ret10", "STD:080"))).isEqualTo("events.output.ret10-blr");
+    }
+
+    @Test
+    void shouldFallBackToDomainRoute() {
+        // When / Then
+        assertThat(router.topicFor(item("ONDC:RET10", "std:011"))).isEqualTo("events.output.ret10");
+        assertThat(router.topicFor(item("ONDC:RET10", null))).isEqualTo("events.output.ret10");
+        assertThat(router.topicFor(item("ONDC:RET11", "std:080"))).isEqualTo("events.output.ret11");
+    }
+
+    @Test
+    void shouldUseDefaultTopicWhenNothingMatches() {
+        // Given
+        OutputTopicRouter disabled =
+                new OutputTopicRouter(null, new OutputRoutingProperties(false, false, ROUTES), "events.output");
+
+        // When / Then
+        assertThat(router.topicFor(item("ONDC:RET12", "std:080"))).isEqualTo("events.output");
+        assertThat(router.topicFor(item(null, "std:080"))).isEqualTo("events.output");
+        assertThat(disabled.topicFor(item("ONDC:RET10", "std:080"))).isEqualTo("events.output");
+    }
+
+    @Test
+    void shouldPlaceProviderOnStableMurmur2Partition() {
+        // Given
+        OutputTopicRouter other =
+                new OutputTopicRouter(null, new OutputRoutingProperties(true, true, List.of()), "events.output");
+        OutputTopicRouter keyPartitioned =
+                new OutputTopicRouter(null, new OutputRoutingProperties(true, false, ROUTES), "events.output");
+
+        // When / Then
+        for (String providerId : List.of("provider1", "provider2", "seller-\u00e9", "")) {
+            int expected = BuiltInPartitioner.partitionForKey(providerId.getBytes(StandardCharsets.UTF_8), 12);
+            assertThat(router.partitionFor(providerId, 12)).isEqualTo(expected);
+            assertThat(other.partitionFor(providerId, 12)).isEqualTo(expected);
+        }
+        assertThat(router.partitionFor(null, 12)).isNull();
+        assertThat(keyPartitioned.partitionFor("provider1", 12)).isNull();
+    }
+
+    @Test
+    void shouldRejectRoutesWithoutDomainOrTopic() {
+        // Given
+        OutputRoutingProperties properties = new OutputRoutingProperties(true, false, List.of(
+                new Route(null, "std:080", "events.output.blr"),
+                new Route("ONDC:RET10", null, " ")));
+
+        // When
+        Set<ConstraintViolation<OutputRoutingProperties>> violations;
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            violations = factory.getValidator().validate(properties);
+        }
+
+        // Then
+        assertThat(violations).extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactlyInAnyOrder("routes[0].domain", "routes[1].topic");
+    }
+
+    private static CatalogItem item(String domain, String city) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId("item1");
+        item.setProviderId("provider1");
+        item.setDomain(domain);
+        item.setCity(city);
+        return item;
+    }
+}
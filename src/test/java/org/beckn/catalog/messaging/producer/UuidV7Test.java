@@ -0,0 +1,53 @@
+package org.beckn.catalog.messaging.producer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void shouldSetVersionAndVariantBits() {
+        // When
+        UUID uuid = UuidV7.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.toString().charAt(14)).isEqualTo('7');
+        assertThat(uuid.toString().charAt(19)).isIn('8', '9', 'a', 'b');
+    }
+
+    @Test
+    void shouldEncodeEpochMillisInTheFirst48Bits() {
+        // Given
+        long epochMillis = 1_737_973_800_000L;
+
+        // When
+        UUID uuid = UuidV7.next(epochMillis);
+
+        // Then
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(epochMillis);
+    }
+
+    @Test
+    void shouldSortByCreationTimeAcrossMilliseconds() {
+        // Given
+        List<UUID> created = new ArrayList<>();
+        for (long millis = 1_737_973_800_000L; millis < 1_737_973_800_100L; millis++) {
+            created.add(UuidV7.next(millis));
+        }
+
+        // When
+        List<UUID> sorted = new ArrayList<>(created);
+        sorted.sort(Comparator.comparing(UUID::toString));
+
+        // Then
+        assertThat(sorted).containsExactlyElementsOf(created);
+    }
+}
@@ -0,0 +1,182 @@
+package org.beckn.catalog.repository;
+
+import org.beckn.catalog.entity.CatalogItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(CatalogItemJdbcRepository.class)
+class CatalogItemJdbcRepositoryTest {
+
+    private static final OffsetDateTime V1 = OffsetDateTime.parse("2025-01-27T10:00:00Z");
+    private static final OffsetDateTime V2 = OffsetDateTime.parse("2025-01-27T11:00:00Z");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private CatalogItemJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertRawItemsAndReturnThemInInputOrder() {
+        // Given
+        CatalogItem second = item("item2", "Second", V1);
+        CatalogItem first = item("item1", "First", V1);
+        CatalogItem firstAgain = item("item1", "First again", V1);
+
+        // When
+        CatalogItemJdbcRepository.UpsertResult result = repository.upsertAll(List.of(second, first, firstAgain));
+
+        // Then
+        assertThat(result.stored()).containsExactly(second, firstAgain);
+        assertThat(result.stale()).isZero();
+        assertThat(result.stored()).allSatisfy(item -> {
+            assertThat(item.getCreatedAt()).isNotNull();
+            assertThat(item.getUpdatedAt()).isNotNull();
+        });
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT item_data->'descriptor'->>'name' FROM catalog_items WHERE item_id = 'item1'", String.class))
+                .isEqualTo("First again");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT source_timestamp FROM catalog_items WHERE item_id = 'item2'", OffsetDateTime.class))
+                .isEqualTo(V1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT domain FROM catalog_items WHERE item_id = 'item2'", String.class))
+                .isEqualTo("ONDC:RET10");
+    }
+
+    @Test
+    void shouldOnlyApplyStrictlyNewerVersions() {
+        // Given
+        repository.upsertAll(List.of(item("item1", "Stored", V2), item("item2", "Stored", V1)));
+
+        // When
+        CatalogItemJdbcRepository.UpsertResult result = repository.upsertAll(List.of(
+                item("item1", "Older", V1),
+                item("item2", "Newer", V2),
+                item("item3", "New", V1)));
+
+        // Then
+        assertThat(result.stored()).extracting(CatalogItem::getItemId).containsExactly("item2", "item3");
+        assertThat(result.stale()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT item_name FROM catalog_items ORDER BY item_id", String.class))
+                .containsExactly("Stored", "Newer", "New");
+    }
+
+    @Test
+    void shouldAlwaysApplyUnversionedItems() {
+        // Given
+        repository.upsertAll(List.of(item("item1", "Stored", V2)));
+
+        // When
+        CatalogItemJdbcRepository.UpsertResult result = repository.upsertAll(List.of(item("item1", "Unversioned", null)));
+
+        // Then
+        assertThat(result.stored()).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT item_name FROM catalog_items WHERE item_id = 'item1'", String.class))
+                .isEqualTo("Unversioned");
+    }
+
+    @Test
+    void shouldDeleteExpiredItemsOfADomainInKeysetChunks() {
+        // Given
+        OffsetDateTime cutoff = V2.plusDays(1);
+        insertItem("a", "ONDC:RET10", V1);
+        insertItem("c", "ONDC:RET10", V2);
+        insertItem("b", "ONDC:RET10", V2);
+        insertItem("fresh", "ONDC:RET10", cutoff.plusHours(1));
+        insertItem("other", "ONDC:RET11", V1);
+
+        // When
+        CatalogItemJdbcRepository.ExpiredChunk first =
+                repository.deleteExpiredChunk("ONDC:RET10", Set.of("ONDC:RET10"), cutoff, null, 2);
+        // Sorts before the cursor, so the following chunks must not reach it
+        insertItem("0", "ONDC:RET10", V1);
+        CatalogItemJdbcRepository.ExpiredChunk second =
+                repository.deleteExpiredChunk("ONDC:RET10", Set.of("ONDC:RET10"), cutoff, first, 2);
+        CatalogItemJdbcRepository.ExpiredChunk third =
+                repository.deleteExpiredChunk("ONDC:RET10", Set.of("ONDC:RET10"), cutoff, second, 2);
+
+        // Then
+        assertThat(first.itemIds()).containsExactly("a", "b");
+        assertThat(first.lastUpdatedAt()).isEqualTo(V2);
+        assertThat(first.lastItemId()).isEqualTo("b");
+        assertThat(second.itemIds()).containsExactly("c");
+        assertThat(third.itemIds()).isEmpty();
+        assertThat(third.lastUpdatedAt()).isEqualTo(V2);
+        assertThat(third.lastItemId()).isEqualTo("c");
+        assertThat(jdbcTemplate.queryForList("SELECT item_id FROM catalog_items ORDER BY item_id", String.class))
+                .containsExactly("0", "fresh", "other");
+    }
+
+    @Test
+    void shouldDeleteExpiredItemsOfDomainsWithoutOwnTtl() {
+        // Given
+        insertItem("ret10", "ONDC:RET10", V1);
+        insertItem("ret11", "ONDC:RET11", V1);
+        insertItem("unknown", null, V1);
+        insertItem("fresh", "ONDC:RET11", V2.plusDays(2));
+
+        // When
+        CatalogItemJdbcRepository.ExpiredChunk chunk =
+                repository.deleteExpiredChunk(null, Set.of("ONDC:RET10"), V2.plusDays(1), null, 10);
+
+        // Then
+        assertThat(chunk.itemIds()).containsExactly("ret11", "unknown");
+        assertThat(jdbcTemplate.queryForList("SELECT item_id FROM catalog_items ORDER BY item_id", String.class))
+                .containsExactly("fresh", "ret10");
+    }
+
+    private void insertItem(String itemId, String domain, OffsetDateTime updatedAt) {
+        // Plain insert: the update trigger would overwrite updated_at
+        jdbcTemplate.update("INSERT INTO catalog_items (item_id, provider_id, item_data, domain, updated_at) " +
+                "VALUES (?, 'provider1', '{}'::jsonb, ?, ?)", itemId, domain, updatedAt);
+    }
+
+    private static CatalogItem item(String itemId, String name, OffsetDateTime version) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId(itemId);
+        item.setItemName(name);
+        item.setProviderId("provider1");
+        item.setRawItemData("{\"id\":\"" + itemId + "\",\"descriptor\":{\"name\":\"" + name + "\"}}");
+        item.setSourceTimestamp(version);
+        item.setDomain("ONDC:RET10");
+        return item;
+    }
+}
@@ -0,0 +1,192 @@
+package org.beckn.catalog.repository;
+
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.repository.ItemTagJdbcRepository.ItemTagIds;
+import org.beckn.catalog.repository.ItemTagJdbcRepository.TagFacet;
+import org.beckn.catalog.repository.ItemTagJdbcRepository.TagSearchResult;
+import org.beckn.catalog.repository.ItemTagJdbcRepository.TagTerm;
+import org.beckn.catalog.tags.TagDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ItemTagJdbcRepository.class, TagDictionary.class, CatalogItemJdbcRepository.class})
+class ItemTagJdbcRepositoryTest {
+
+    /** Net delta per tag, e.g. color/name/black=1 */
+    private static final String DELTAS_SQL =
+            "SELECT c.name || '/' || d.name || '/' || v.name || '=' || sum(f.delta) FROM tag_facet_deltas f " +
+            "JOIN tag_categories c ON c.id = f.category_id " +
+            "JOIN tag_codes d ON d.id = f.code_id " +
+            "JOIN tag_values v ON v.id = f.value_id " +
+            "GROUP BY c.name, d.name, v.name ORDER BY 1";
+
+    private static final String COUNTS_SQL =
+            "SELECT c.name || '/' || d.name || '/' || v.name || '=' || f.item_count FROM tag_facet_counts f " +
+            "JOIN tag_categories c ON c.id = f.category_id " +
+            "JOIN tag_codes d ON d.id = f.code_id " +
+            "JOIN tag_values v ON v.id = f.value_id " +
+            "ORDER BY 1";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private ItemTagJdbcRepository repository;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private CatalogItemJdbcRepository catalogItemJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Map<String, Integer> categories;
+    private Map<String, Integer> codes;
+    private Map<String, Integer> values;
+
+    @BeforeEach
+    void setUp() {
+        catalogItemJdbcRepository.upsertAll(List.of(item("item1"), item("item2"), item("item3")));
+        categories = tagDictionary.intern(TagDictionary.Kind.CATEGORY, List.of("color", "features"));
+        codes = tagDictionary.intern(TagDictionary.Kind.CODE, List.of("name", "5g"));
+        values = tagDictionary.intern(TagDictionary.Kind.VALUE, List.of("black", "white", "Y", "N"));
+    }
+
+    @Test
+    void shouldReplaceTagsAndRecordOnlyTheChanges() {
+        // Given
+        repository.replaceItemTags(List.of("item1"),
+                List.of(tag("item1", "color", "name", "black"), tag("item1", "features", "5g", "Y")));
+
+        // When
+        repository.replaceItemTags(List.of("item1", "item2"),
+                List.of(tag("item1", "features", "5g", "Y"), tag("item1", "features", "5g", "N")));
+
+        // Then
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT t.item_id || '@' || v.name FROM item_tags t JOIN tag_values v ON v.id = t.value_id",
+                String.class))
+                .containsExactlyInAnyOrder("item1@N", "item1@Y");
+        assertThat(jdbcTemplate.queryForList(DELTAS_SQL, String.class))
+                .containsExactly("color/name/black=0", "features/5g/N=1", "features/5g/Y=1");
+        // black added and removed, N added, the unchanged Y written once
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tag_facet_deltas", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRecordRemovedTagsOfDeletedItems() {
+        // Given
+        repository.replaceItemTags(List.of("item1", "item2"), List.of(tag("item1", "color", "name", "black"),
+                tag("item1", "features", "5g", "Y"), tag("item2", "color", "name", "black")));
+
+        // When
+        jdbcTemplate.update("DELETE FROM catalog_items WHERE item_id = 'item1'");
+
+        // Then
+        assertThat(jdbcTemplate.queryForList(DELTAS_SQL, String.class))
+                .containsExactly("color/name/black=1", "features/5g/Y=0");
+        assertThat(repository.findAllFacets(10)).containsExactly(new TagFacet("color", "name", "black", 1));
+    }
+
+    @Test
+    void shouldCompactDeltasAndDropEmptyCounts() {
+        // Given
+        repository.replaceItemTags(List.of("item1", "item2"), List.of(tag("item1", "color", "name", "black"),
+                tag("item2", "color", "name", "black"), tag("item2", "features", "5g", "Y")));
+        int first = repository.compactFacetCounts();
+        repository.replaceItemTags(List.of("item2"), List.of());
+
+        // When
+        List<TagFacet> beforeCompaction = repository.findAllFacets(10);
+        int second = repository.compactFacetCounts();
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(beforeCompaction).containsExactly(new TagFacet("color", "name", "black", 1));
+        assertThat(repository.findAllFacets(10)).isEqualTo(beforeCompaction);
+        assertThat(jdbcTemplate.queryForList(COUNTS_SQL, String.class)).containsExactly("color/name/black=1");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tag_facet_deltas", Integer.class)).isZero();
+    }
+
+    @Test
+    void shouldMatchEveryGroupAndAnyTermWithinAGroup() {
+        // Given
+        repository.replaceItemTags(List.of("item1", "item2", "item3"), List.of(
+                tag("item1", "color", "name", "black"), tag("item1", "features", "5g", "Y"),
+                tag("item2", "color", "name", "white"), tag("item2", "features", "5g", "N"),
+                tag("item3", "color", "name", "black")));
+        List<TagTerm> blackOrWhite = List.of(term("color", "name", "black"), term("color", "name", "white"));
+        List<TagTerm> any5g = List.of(term("features", "5g", null));
+
+        // When
+        TagSearchResult matched = repository.search(List.of(blackOrWhite, any5g), 10, 10);
+        TagSearchResult firstPage = repository.search(List.of(blackOrWhite, any5g), 1, 10);
+        TagSearchResult black = repository.search(List.of(List.of(term("color", "name", "black"))), 10, 10);
+
+        // Then
+        assertThat(matched.items()).extracting(ItemTagJdbcRepository.TaggedItem::itemId)
+                .containsExactly("item1", "item2");
+        assertThat(matched.total()).isEqualTo(2);
+        assertThat(matched.facets()).containsExactly(
+                new TagFacet("color", "name", "black", 1),
+                new TagFacet("color", "name", "white", 1),
+                new TagFacet("features", "5g", "N", 1),
+                new TagFacet("features", "5g", "Y", 1));
+        assertThat(firstPage.items()).extracting(ItemTagJdbcRepository.TaggedItem::itemId).containsExactly("item1");
+        assertThat(firstPage.total()).isEqualTo(2);
+        assertThat(black.items()).extracting(ItemTagJdbcRepository.TaggedItem::itemId)
+                .containsExactly("item1", "item3");
+    }
+
+    private ItemTagIds tag(String itemId, String category, String code, String value) {
+        return new ItemTagIds(itemId, categories.get(category), codes.get(code), values.get(value));
+    }
+
+    private TagTerm term(String category, String code, String value) {
+        return new TagTerm(categories.get(category), codes.get(code), value != null ? values.get(value) : null);
+    }
+
+    private static CatalogItem item(String itemId) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId(itemId);
+        item.setItemName("Item " + itemId);
+        item.setProviderId("provider1");
+        item.setRawItemData("{\"id\":\"" + itemId + "\"}");
+        return item;
+    }
+}
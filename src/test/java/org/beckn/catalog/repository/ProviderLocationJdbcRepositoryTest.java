@@ -0,0 +1,165 @@
+package org.beckn.catalog.repository;
+
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.geo.ProviderLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProviderLocationJdbcRepository.class, CatalogItemJdbcRepository.class})
+class ProviderLocationJdbcRepositoryTest {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LNG = 77.5946;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private ProviderLocationJdbcRepository repository;
+
+    @Autowired
+    private CatalogItemJdbcRepository catalogItemJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.upsertAll(List.of(
+                location("provider1", "store-a", CENTER_LAT, CENTER_LNG),
+                // About 1.1 km north
+                location("provider1", "store-b", CENTER_LAT + 0.01, CENTER_LNG),
+                // About 11 km north
+                location("provider2", "store-c", CENTER_LAT + 0.1, CENTER_LNG)));
+    }
+
+    @Test
+    void shouldOnlyRewriteChangedLocations() {
+        // When
+        int unchanged = repository.upsertAll(List.of(
+                location("provider1", "store-a", CENTER_LAT, CENTER_LNG),
+                location("provider1", "store-b", CENTER_LAT + 0.01, CENTER_LNG)));
+        int moved = repository.upsertAll(List.of(
+                location("provider1", "store-a", CENTER_LAT, CENTER_LNG),
+                location("provider1", "store-b", CENTER_LAT + 0.02, CENTER_LNG)));
+
+        // Then
+        assertThat(unchanged).isZero();
+        assertThat(moved).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT latitude FROM provider_locations WHERE location_id = 'store-b'", Double.class))
+                .isEqualTo(CENTER_LAT + 0.02);
+    }
+
+    @Test
+    void shouldReplaceItemLinksWithTheIncomingOnes() {
+        // Given
+        storeItems(item("item1", "provider1", "store-a", "store-b"), item("item2", "provider1", "store-a"),
+                item("item3", "provider2", "store-c"));
+        repository.replaceItemLocations(List.of(item("item1", "provider1", "store-a", "store-b"),
+                item("item2", "provider1", "store-a"), item("item3", "provider2", "store-c")));
+
+        // When
+        repository.replaceItemLocations(List.of(item("item1", "provider1", "store-b", "store-d"),
+                item("item2", "provider1")));
+
+        // Then
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT item_id || '@' || location_id FROM item_locations ORDER BY 1", String.class))
+                .containsExactly("item1@store-b", "item1@store-d", "item3@store-c");
+    }
+
+    @Test
+    void shouldFindLocationsWithinRadiusNearestFirst() {
+        // When
+        List<ProviderLocationJdbcRepository.NearbyLocation> nearby =
+                repository.findLocationsWithin(CENTER_LAT + 0.001, CENTER_LNG, 2_000);
+
+        // Then
+        assertThat(nearby).extracting(ProviderLocationJdbcRepository.NearbyLocation::locationId)
+                .containsExactly("store-a", "store-b");
+        assertThat(nearby.get(0).distanceMeters()).isBetween(100.0, 120.0);
+    }
+
+    @Test
+    void shouldFindLinkedAndProviderWideItemsAtTheirNearestLocation() {
+        // Given
+        CatalogItem linked = item("item1", "provider1", "store-b");
+        CatalogItem providerWide = item("item2", "provider1");
+        CatalogItem farAway = item("item3", "provider2");
+        storeItems(linked, providerWide, farAway);
+        repository.replaceItemLocations(List.of(linked, providerWide, farAway));
+        List<ProviderLocationJdbcRepository.NearbyLocation> nearby =
+                repository.findLocationsWithin(CENTER_LAT, CENTER_LNG, 2_000);
+
+        // When
+        List<ProviderLocationJdbcRepository.NearbyItem> items = repository.findItemsAt(nearby, 10);
+        List<ProviderLocationJdbcRepository.NearbyItem> nearest = repository.findItemsAt(nearby, 1);
+
+        // Then
+        assertThat(items).extracting(item -> item.itemId() + "@" + item.locationId())
+                .containsExactly("item2@store-a", "item1@store-b");
+        assertThat(items.get(1).distanceMeters()).isBetween(1_000.0, 1_200.0);
+        assertThat(nearest).extracting(ProviderLocationJdbcRepository.NearbyItem::itemId).containsExactly("item2");
+    }
+
+    @Test
+    void shouldCoverCandidateColumnsInGeohashIndex() {
+        // When
+        String definition = jdbcTemplate.queryForObject(
+                "SELECT indexdef FROM pg_indexes WHERE tablename = 'provider_locations' AND indexname LIKE '%geohash%'",
+                String.class);
+
+        // Then
+        assertThat(definition).contains("INCLUDE (provider_id, location_id, latitude, longitude)");
+    }
+
+    private void storeItems(CatalogItem... items) {
+        catalogItemJdbcRepository.upsertAll(List.of(items));
+    }
+
+    private static ProviderLocation location(String providerId, String locationId, double latitude, double longitude) {
+        return ProviderLocation.of(providerId, locationId, latitude + "," + longitude);
+    }
+
+    private static CatalogItem item(String itemId, String providerId, String... locationIds) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId(itemId);
+        item.setItemName("Item " + itemId);
+        item.setProviderId(providerId);
+        item.setRawItemData("{\"id\":\"" + itemId + "\"}");
+        item.setLocationIds(List.of(locationIds));
+        return item;
+    }
+}
@@ -0,0 +1,142 @@
+package org.beckn.catalog.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.beckn.catalog.messaging.producer.CatalogEventProducer;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(CatalogItemJdbcRepository.class)
+class CatalogItemRetentionJobTest {
+
+    private static final OffsetDateTime EXPIRED = OffsetDateTime.now().minusDays(60);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private CatalogItemJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RecordingProducer producer = new RecordingProducer();
+
+    @Test
+    void shouldNotLetOneDomainsBacklogStarveTheOthers() {
+        // Given
+        insertItems("ret10-", "ONDC:RET10", 6, EXPIRED);
+        insertItems("ret11-", "ONDC:RET11", 1, EXPIRED);
+        insertItems("ret12-", "ONDC:RET12", 1, EXPIRED);
+        insertItems("fresh-", "ONDC:RET12", 1, OffsetDateTime.now().minusDays(10));
+        CatalogItemRetentionJob job = job(2, 3);
+
+        // When
+        job.expire();
+
+        // Then one chunk of the budget each
+        assertThat(remaining()).containsExactlyInAnyOrderEntriesOf(Map.of("ONDC:RET10", 4, "ONDC:RET12", 1));
+        assertThat(producer.tombstones).hasSize(4)
+                .contains("ret11-0", "ret12-0").doesNotContain("fresh-0");
+    }
+
+    @Test
+    void shouldRotateTheDomainThatGetsTheUnusedBudget() {
+        // Given
+        insertItems("ret10-", "ONDC:RET10", 10, EXPIRED);
+        insertItems("ret11-", "ONDC:RET11", 10, EXPIRED);
+        insertItems("ret12-", "ONDC:RET12", 10, EXPIRED);
+        CatalogItemRetentionJob job = job(1, 4);
+
+        // When / Then shares of 4 chunks over 3 domains are 1, 1, 2 from the starting domain on
+        job.expire();
+        assertThat(remaining()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("ONDC:RET10", 9, "ONDC:RET11", 9, "ONDC:RET12", 8));
+        job.expire();
+        assertThat(remaining()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("ONDC:RET10", 7, "ONDC:RET11", 8, "ONDC:RET12", 7));
+        job.expire();
+        assertThat(remaining()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("ONDC:RET10", 6, "ONDC:RET11", 6, "ONDC:RET12", 6));
+        assertThat(producer.tombstones).hasSize(12);
+    }
+
+    private CatalogItemRetentionJob job(int chunkSize, int maxChunksPerRun) {
+        Map<String, Duration> ttl = new LinkedHashMap<>();
+        ttl.put("ONDC:RET10", Duration.ofDays(7));
+        ttl.put("ONDC:RET11", Duration.ofDays(7));
+        RetentionProperties properties = new RetentionProperties(true, Duration.ofDays(30), ttl,
+                chunkSize, Duration.ZERO, maxChunksPerRun);
+        return new CatalogItemRetentionJob(repository, producer, properties, new SimpleMeterRegistry());
+    }
+
+    private void insertItems(String prefix, String domain, int count, OffsetDateTime updatedAt) {
+        for (int i = 0; i < count; i++) {
+            // Plain insert: the update trigger would overwrite updated_at
+            jdbcTemplate.update("INSERT INTO catalog_items (item_id, provider_id, item_data, domain, updated_at) " +
+                    "VALUES (?, 'provider1', '{}'::jsonb, ?, ?)", prefix + i, domain, updatedAt.plusSeconds(i));
+        }
+    }
+
+    private Map<String, Integer> remaining() {
+        Map<String, Integer> remaining = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT domain, count(*) FROM catalog_items GROUP BY domain",
+                resultSet -> {
+                    remaining.put(resultSet.getString(1), resultSet.getInt(2));
+                });
+        return remaining;
+    }
+
+    /**
+     * Records tombstones instead of sending them
+     */
+    private static final class RecordingProducer extends CatalogEventProducer {
+
+        private final List<String> tombstones = new ArrayList<>();
+
+        private RecordingProducer() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public void publishItemTombstones(Collection<String> itemIds) {
+            tombstones.addAll(itemIds);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.beckn.catalog.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderFairSchedulerTest {
+
+    private ProviderFairScheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scheduler.stop();
+    }
+
+    @Test
+    void shouldRunSmallProviderBeforeRemainingChunksOfLargeCatalog() throws Exception {
+        // Given
+        scheduler = scheduler(1, 10, 1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit("blocker", 1, () -> {
+            started.countDown();
+            await(release);
+            return order.add("blocker");
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<List<Boolean>> giant = scheduler.submitChunked("giant", IntStream.range(0, 100).boxed().toList(),
+                chunk -> order.add("giant"));
+        CompletableFuture<List<Boolean>> small = scheduler.submitChunked("small", List.of(1, 2, 3, 4, 5),
+                chunk -> order.add("small"));
+        release.countDown();
+        CompletableFuture.allOf(giant, small).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(order).hasSize(12);
+        assertThat(order.subList(0, 2)).containsExactly("blocker", "small");
+        assertThat(order.subList(2, 12)).containsOnly("giant");
+    }
+
+    @Test
+    void shouldRunChunksOfProviderInSubmissionOrder() throws Exception {
+        // Given
+        scheduler = scheduler(4, 1, 1);
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        List<Integer> results = scheduler.submitChunked("provider1", items, chunk -> {
+            order.add(chunk.get(0));
+            return chunk.get(0);
+        }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results).isEqualTo(items);
+        assertThat(order).isEqualTo(items);
+    }
+
+    @Test
+    void shouldFailFutureWhenChunkFails() throws Exception {
+        // Given
+        scheduler = scheduler(2, 2, 1);
+
+        // When
+        CompletableFuture<List<Integer>> future = scheduler.submitChunked("provider1", List.of(1, 2, 3, 4), chunk -> {
+            if (chunk.contains(3)) {
+                throw new IllegalStateException("bad chunk");
+            }
+            return chunk.size();
+        });
+
+        // Then
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("bad chunk");
+    }
+
+    private static ProviderFairScheduler scheduler(int workers, int chunkSize, int maxInFlightPerProvider) {
+        ProviderFairScheduler scheduler = new ProviderFairScheduler(new MockEnvironment(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "workers", workers);
+        ReflectionTestUtils.setField(scheduler, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(scheduler, "maxInFlightPerProvider", maxInFlightPerProvider);
+        ReflectionTestUtils.setField(scheduler, "maxQueuedChunks", 1000);
+        ReflectionTestUtils.setField(scheduler, "defaultWeight", 1.0);
+        scheduler.start();
+        return scheduler;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
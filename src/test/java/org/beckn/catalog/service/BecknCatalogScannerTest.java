@@ -0,0 +1,110 @@
+package org.beckn.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.tags.ItemTag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BecknCatalogScannerTest {
+
+    private final BecknCatalogScanner scanner = new BecknCatalogScanner(new ObjectMapper());
+
+    @Test
+    void shouldExtractTagsAndLocationReferencesInAnyFieldOrder() throws Exception {
+        // Given
+        String event = "{\"message\":{\"catalog\":{\"providers\":[{\"items\":[{"
+                + "\"tags\":[{\"list\":[{\"value\":\"Y\",\"descriptor\":{\"code\":\"5g\"}},{\"code\":\"no-value\"}],"
+                + "\"descriptor\":{\"name\":\"Features\",\"code\":\"features\"}},"
+                + "{\"code\":\"color\",\"list\":[{\"code\":\"name\",\"value\":\"black\"}]}],"
+                + "\"location_ids\":[\"store-1\",\"store-2\",\"store-1\"],\"id\":\"item1\"}],\"id\":\"provider1\"}]}}}";
+
+        // When
+        List<CatalogItemService.ProviderItems> providers = scanner.scan(event);
+
+        // Then
+        CatalogItem item = providers.get(0).items().get(0);
+        assertThat(item.getProviderId()).isEqualTo("provider1");
+        assertThat(item.getTags()).containsExactly(
+                new ItemTag("features", "5g", "Y"),
+                new ItemTag("color", "name", "black"));
+        assertThat(item.getLocationIds()).containsExactly("store-1", "store-2");
+    }
+
+    @Test
+    void shouldExtractSameTagsAsTreePath() throws Exception {
+        // Given
+        String event = "{\"context\":{\"domain\":\"ONDC:RET10\",\"action\":\"on_search\"},"
+                + "\"message\":{\"catalog\":{\"providers\":[{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\","
+                + "\"tags\":["
+                + "{\"descriptor\":{\"code\":\"\"},\"code\":\"features\",\"list\":["
+                + "{\"descriptor\":{\"code\":\"\"},\"code\":\"5g\",\"value\":\"Y\"},"
+                + "{\"descriptor\":{\"code\":\"wifi\"},\"code\":\"ignored\",\"value\":\"N\"},"
+                + "{\"descriptor\":{\"code\":\"nfc\"},\"value\":\"\"}]},"
+                + "{\"descriptor\":{\"code\":null},\"code\":\"color\",\"list\":["
+                + "{\"code\":\"name\",\"value\":\"black\"},{\"code\":\"name\",\"value\":\"black\"}]},"
+                + "{\"descriptor\":{\"code\":{\"nested\":true}},\"code\":\"size\",\"list\":["
+                + "{\"code\":\"eu\",\"value\":42}]},"
+                + "{\"list\":[{\"code\":\"orphan\",\"value\":\"x\"}]}]}]}]}}}";
+        CatalogItemService service = new CatalogItemService(null, new ObjectMapper(), null, null, scanner,
+                null, null, null, null, null, null);
+
+        // When
+        ReflectionTestUtils.setField(service, "rawJsonEnabled", true);
+        List<ItemTag> scanned = service.splitByProvider(event, null, BecknContext.EMPTY).get(0).items().get(0).getTags();
+        ReflectionTestUtils.setField(service, "rawJsonEnabled", false);
+        List<ItemTag> fromTree = service.splitByProvider(event, null, BecknContext.EMPTY).get(0).items().get(0).getTags();
+
+        // Then
+        assertThat(scanned).containsExactly(
+                new ItemTag("features", "5g", "Y"),
+                new ItemTag("features", "wifi", "N"),
+                new ItemTag("color", "name", "black"),
+                new ItemTag("size", "eu", "42"));
+        assertThat(fromTree).isEqualTo(scanned);
+    }
+
+    @Test
+    void shouldExtractProviderLocationsWithUsableGps() throws Exception {
+        // Given
+        String event = "{\"message\":{\"catalog\":{\"providers\":[{\"locations\":["
+                + "{\"gps\":\"12.9716,77.5946\",\"id\":\"store-1\",\"address\":\"MG Road\"},"
+                + "{\"id\":\"store-2\",\"gps\":\"somewhere\"}],"
+                + "\"id\":\"provider1\",\"items\":[{\"id\":\"item1\",\"location_id\":\"store-1\"}]}]}}}";
+
+        // When
+        List<CatalogItemService.ProviderItems> providers = scanner.scan(event);
+
+        // Then
+        assertThat(providers.get(0).locations()).singleElement().satisfies(location -> {
+            assertThat(location.providerId()).isEqualTo("provider1");
+            assertThat(location.locationId()).isEqualTo("store-1");
+            assertThat(location.geohash()).startsWith("tdr1");
+        });
+        assertThat(providers.get(0).items().get(0).getLocationIds()).containsExactly("store-1");
+    }
+
+    @Test
+    void shouldCheckRequiredStructureInTheSameScan() throws Exception {
+        // Given
+        String valid = "{\"message\":{\"catalog\":{\"providers\":[{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\"}]}]}},"
+                + "\"context\":{\"domain\":\"retail\",\"action\":\"on_search\"}}";
+        String noAction = "{\"context\":{\"domain\":\"retail\"},\"message\":{\"catalog\":{\"providers\":[]}}}";
+        String noProviders = "{\"context\":{\"domain\":\"retail\",\"action\":\"on_search\"},\"message\":{\"catalog\":{}}}";
+
+        // When / Then
+        assertThat(scanner.scan(valid, true)).singleElement()
+                .satisfies(provider -> assertThat(provider.items()).hasSize(1));
+        assertThatThrownBy(() -> scanner.scan(noAction, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing required fields");
+        assertThatThrownBy(() -> scanner.scan(noProviders, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(scanner.scan(noProviders)).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package org.beckn.catalog.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.beckn.catalog.entity.CatalogItem;
+import org.beckn.catalog.repository.CatalogItemJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "catalog.processing.batch-size=8")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CatalogItemJdbcRepository.class, CatalogItemBulkWriter.class, CatalogItemBulkWriterTest.Metrics.class})
+class CatalogItemBulkWriterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private CatalogItemBulkWriter writer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldIsolateBadItemsAndStoreTheRest() {
+        // Given
+        List<CatalogItem> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(item("item" + i, i == 3 || i == 7 ? "{not json" : "{\"id\":\"item" + i + "\"}"));
+        }
+
+        // When
+        CatalogItemBulkWriter.BulkWriteResult result = writer.write(items);
+
+        // Then
+        assertThat(result.failed()).extracting(failed -> failed.item().getItemId())
+                .containsExactly("item3", "item7");
+        assertThat(result.failed()).allSatisfy(failed -> assertThat(failed.reason()).containsIgnoringCase("json"));
+        assertThat(result.stored()).extracting(CatalogItem::getItemId)
+                .containsExactly("item0", "item1", "item2", "item4", "item5", "item6", "item8", "item9");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM catalog_items", Integer.class)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldStoreCleanBatchesWithoutFailures() {
+        // Given
+        List<CatalogItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(item("item" + i, "{\"id\":\"item" + i + "\"}"));
+        }
+
+        // When
+        CatalogItemBulkWriter.BulkWriteResult result = writer.write(items);
+
+        // Then
+        assertThat(result.failed()).isEmpty();
+        assertThat(result.stored()).hasSize(20);
+    }
+
+    @Test
+    void shouldLeaveNewerRowsUntouchedAndCountStaleItems() {
+        // Given
+        CatalogItem stored = item("item1", "{\"id\":\"item1\",\"descriptor\":{\"name\":\"Current\"}}");
+        stored.setSourceTimestamp(OffsetDateTime.parse("2025-01-27T11:00:00Z"));
+        writer.write(List.of(stored));
+        double skippedBefore = meterRegistry.counter("catalog.items.stale.skipped").count();
+        CatalogItem older = item("item1", "{\"id\":\"item1\",\"descriptor\":{\"name\":\"Older\"}}");
+        older.setSourceTimestamp(OffsetDateTime.parse("2025-01-27T10:00:00Z"));
+
+        // When
+        CatalogItemBulkWriter.BulkWriteResult result = writer.write(List.of(older));
+
+        // Then
+        assertThat(result.stored()).isEmpty();
+        assertThat(result.failed()).isEmpty();
+        assertThat(meterRegistry.counter("catalog.items.stale.skipped").count()).isEqualTo(skippedBefore + 1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT item_data->'descriptor'->>'name' FROM catalog_items WHERE item_id = 'item1'", String.class))
+                .isEqualTo("Current");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT source_timestamp FROM catalog_items WHERE item_id = 'item1'", OffsetDateTime.class))
+                .isEqualTo(stored.getSourceTimestamp());
+    }
+
+    private static CatalogItem item(String itemId, String rawItemData) {
+        CatalogItem item = new CatalogItem();
+        item.setItemId(itemId);
+        item.setProviderId("provider1");
+        item.setRawItemData(rawItemData);
+        return item;
+    }
+}
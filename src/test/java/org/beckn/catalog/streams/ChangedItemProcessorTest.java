@@ -0,0 +1,149 @@
+package org.beckn.catalog.streams;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.test.TestRecord;
+import org.beckn.catalog.config.OutputRoutingProperties;
+import org.beckn.catalog.messaging.producer.ItemEventWriter;
+import org.beckn.catalog.messaging.producer.OutputTopicRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangedItemProcessorTest {
+
+    private static final String STORE = "item-state";
+    private static final OffsetDateTime V1 = OffsetDateTime.parse("2025-01-27T10:30:00Z");
+    private static final OffsetDateTime V2 = OffsetDateTime.parse("2025-01-27T11:30:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, ItemRecord> items;
+    private TestOutputTopic<String, String> events;
+
+    @BeforeEach
+    void setUp() {
+        JsonSerde<ItemRecord> itemSerde = new JsonSerde<>(ItemRecord.class, objectMapper).noTypeInfo().ignoreTypeHeaders();
+        OutputTopicRouter router = new OutputTopicRouter(null,
+                new OutputRoutingProperties(false, false, List.of()), "events.output");
+
+        StreamsBuilder builder = new StreamsBuilder();
+        builder.addStateStore(Stores.keyValueStoreBuilder(Stores.inMemoryKeyValueStore(STORE), Serdes.String(),
+                new JsonSerde<>(ItemState.class, objectMapper).noTypeInfo().ignoreTypeHeaders()));
+        builder.stream("items", Consumed.with(Serdes.String(), itemSerde))
+                .process(() -> new ChangedItemProcessor(new ItemEventWriter(objectMapper), router, STORE,
+                        new SimpleMeterRegistry()), STORE)
+                .to("events", Produced.with(Serdes.String(), ItemEvent.serde()));
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "changed-item-processor-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+        items = driver.createInputTopic("items", new StringSerializer(), itemSerde.serializer());
+        events = driver.createOutputTopic("events", new StringDeserializer(), new StringDeserializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void shouldForwardNewItem() throws Exception {
+        // When
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+
+        // Then
+        TestRecord<String, String> event = events.readRecord();
+        JsonNode json = objectMapper.readTree(event.value());
+        assertThat(event.key()).isEqualTo("item1");
+        assertThat(json.path("item_data").path("price").asInt()).isEqualTo(10);
+        assertThat(new String(event.headers().lastHeader(ChangedItemProcessor.HEADER_SOURCE_TIMESTAMP).value(),
+                StandardCharsets.UTF_8)).isEqualTo(V1.toString());
+        assertThat(events.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldDropUnchangedRepublish() {
+        // Given
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+        events.readRecord();
+
+        // When
+        items.pipeInput("item1", item("item1", V2, "{\"price\":10}"));
+
+        // Then
+        assertThat(events.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldForwardChangedItemKeepingCreatedAt() throws Exception {
+        // Given
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+        JsonNode first = objectMapper.readTree(events.readValue());
+
+        // When
+        items.pipeInput("item1", item("item1", V2, "{\"price\":12}"));
+
+        // Then
+        JsonNode second = objectMapper.readTree(events.readValue());
+        assertThat(second.path("item_data").path("price").asInt()).isEqualTo(12);
+        assertThat(second.path("created_at").asText()).isEqualTo(first.path("created_at").asText());
+    }
+
+    @Test
+    void shouldDropStaleVersion() {
+        // Given
+        items.pipeInput("item1", item("item1", V2, "{\"price\":12}"));
+        events.readRecord();
+
+        // When
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+
+        // Then
+        assertThat(events.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldForwardUnchangedRepublishOfDeletedItem() throws Exception {
+        // Given
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+        events.readRecord();
+        items.pipeInput("item1", ItemRecord.tombstone("item1"));
+
+        // When
+        items.pipeInput("item1", item("item1", V1, "{\"price\":10}"));
+
+        // Then
+        JsonNode json = objectMapper.readTree(events.readValue());
+        assertThat(json.path("item_data").path("price").asInt()).isEqualTo(10);
+        assertThat(events.isEmpty()).isTrue();
+    }
+
+    private static ItemRecord item(String itemId, OffsetDateTime version, String itemData) {
+        return new ItemRecord(itemId, "Item " + itemId, "provider1", "ONDC:RET10", "std:080", version, itemData);
+    }
+}
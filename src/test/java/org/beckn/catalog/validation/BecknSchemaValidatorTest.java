@@ -0,0 +1,57 @@
+package org.beckn.catalog.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BecknSchemaValidatorTest {
+
+    private static final String CONTEXT_1_1 = "\"context\":{\"domain\":\"retail\",\"action\":\"on_search\","
+            + "\"core_version\":\"1.1.0\",\"bpp_id\":\"bpp1\",\"message_id\":\"m1\","
+            + "\"timestamp\":\"2025-01-27T10:30:00Z\"}";
+
+    private static BecknSchemaValidator validator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void compile() throws Exception {
+        validator = new BecknSchemaValidator("classpath*:schemas/beckn/**/catalog.json", "collect-all");
+        validator.compile();
+    }
+
+    @Test
+    void shouldAcceptProvidersItemsAndLocationsWithoutIdsSoTheyAreSkippedOneByOne() throws Exception {
+        // Given
+        JsonNode event = objectMapper.readTree("{" + CONTEXT_1_1 + ",\"message\":{\"catalog\":{\"providers\":["
+                + "{\"locations\":[{\"gps\":\"12.97,77.59\"}],\"items\":[{\"descriptor\":{\"name\":\"No ID\"}}]},"
+                + "{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\"},{\"id\":\"\"}]}]}}}");
+
+        // When / Then
+        assertThat(validator.validate(event)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectEventsViolatingSelectedSchema() throws Exception {
+        // Given
+        JsonNode event = objectMapper.readTree("{" + CONTEXT_1_1 + ",\"message\":{\"catalog\":{\"providers\":["
+                + "{\"id\":\"provider1\",\"items\":[{\"id\":\"item1\",\"price\":{\"value\":\"cheap\"}}]}]}}}");
+
+        // When / Then
+        assertThat(validator.validate(event)).singleElement(InstanceOfAssertFactories.STRING).contains("value");
+    }
+
+    @Test
+    void shouldFallBackToDefaultSchema() throws Exception {
+        // Given
+        JsonNode event = objectMapper.readTree("{\"context\":{\"domain\":\"retail\"},"
+                + "\"message\":{\"catalog\":{\"providers\":[]}}}");
+
+        // When / Then
+        assertThat(validator.validate(event)).singleElement(InstanceOfAssertFactories.STRING).contains("action");
+    }
+}
@@ -0,0 +1,62 @@
+#!/bin/sh
+# startup-benchmark.sh - compare application startup time across launch modes
+#
+# Requires PostgreSQL and Kafka on localhost (docker-compose up -d postgres kafka) and a JDK 17+.
+# Usage: ./startup-benchmark.sh [runs]   (SKIP_BUILD=1 reuses existing build output)
+#
+# Modes:
+#   jar           java -jar (leader: Flyway, ddl validation, topic creation)
+#   follower      java -jar with the follower profile
+#   cds           follower + CDS archive (build/cds/jvm)
+#   aot-cds       follower + Spring AOT + CDS archive (build/cds/aot)
+
+set -e
+
+runs=${1:-5}
+jar=build/libs/catalog-publish-1.0.0-SNAPSHOT.jar
+log=$(mktemp)
+trap 'rm -f "$log"' EXIT
+
+if [ -z "$SKIP_BUILD" ]; then
+  # AOT first: the plain build must be the last one to write build/libs. The AOT build is for
+  # the follower profile the aot-cds mode runs with
+  ./gradlew -q -Paot -PaotProfiles=follower cdsArchive
+  ./gradlew -q bootJar cdsArchive
+fi
+
+# Seconds until "Started CatalogPublishApplication in X seconds (process running for Y)"
+measure() {
+  dir=$1
+  shift
+  (cd "$dir" && exec java "$@" --spring.kafka.consumer.group-id=startup-benchmark) > "$log" 2>&1 &
+  pid=$!
+  until grep -q "Started CatalogPublishApplication" "$log"; do
+    if ! kill -0 $pid 2>/dev/null; then
+      echo "startup failed:" >&2
+      tail -20 "$log" >&2
+      exit 1
+    fi
+    sleep 0.2
+  done
+  kill $pid
+  wait $pid 2>/dev/null || true
+  sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log"
+}
+
+run_mode() {
+  name=$1
+  shift
+  total=0
+  for i in $(seq "$runs"); do
+    t=$(measure "$@")
+    total=$(echo "$total + $t" | bc)
+  done
+  printf '%-10s %6.2fs (mean of %s runs)\n' "$name" "$(echo "scale=3; $total / $runs" | bc)" "$runs"
+}
+
+run_mode jar      . -jar "$jar"
+run_mode follower . -jar "$jar" --spring.profiles.active=follower
+run_mode cds      build/cds/jvm -XX:SharedArchiveFile=application.jsa -jar application.jar \
+  --spring.profiles.active=follower
+run_mode aot-cds  build/cds/aot -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar application.jar \
+  --spring.profiles.active=follower